@@ -0,0 +1,38 @@
+#!/usr/bin/env bash
+# Runs the k6 profile against the app with platform threads and with virtual threads.
+# Needs: a seeded PostgreSQL (see virtual-threads.md), k6 on the PATH, a built jar.
+# Usage: docs/benchmarks/run-virtual-threads.sh [rate] [duration]
+set -euo pipefail
+
+RATE="${1:-500}"
+DURATION="${2:-2m}"
+JAR="$(ls target/tasktrack-*.jar | head -n 1)"
+OUT="target/benchmarks"
+mkdir -p "$OUT"
+
+for MODE in platform virtual; do
+  VIRTUAL=false
+  [ "$MODE" = virtual ] && VIRTUAL=true
+
+  java -jar "$JAR" \
+    --spring.threads.virtual.enabled="$VIRTUAL" \
+    --spring.jpa.show-sql=false \
+    --logging.level.org.hibernate.SQL=INFO \
+    --logging.level.org.hibernate.orm.jdbc.bind=INFO \
+    > "$OUT/app-$MODE.log" 2>&1 &
+  APP_PID=$!
+  trap 'kill $APP_PID 2>/dev/null || true' EXIT
+
+  until curl -sf http://localhost:8080/actuator/health > /dev/null; do sleep 1; done
+
+  # Warm up caches and the JIT, then measure
+  k6 run --quiet -e RATE="$RATE" -e DURATION=30s docs/benchmarks/user-endpoints.js > /dev/null
+  k6 run -e RATE="$RATE" -e DURATION="$DURATION" \
+    --summary-export "$OUT/summary-$MODE.json" docs/benchmarks/user-endpoints.js \
+    | tee "$OUT/k6-$MODE.txt"
+
+  kill "$APP_PID"
+  wait "$APP_PID" 2>/dev/null || true
+done
+
+echo "Summaries written to $OUT/summary-platform.json and $OUT/summary-virtual.json"
@@ -0,0 +1,70 @@
+// k6 load profile for the UserController read endpoints.
+// Usage: k6 run -e BASE_URL=http://localhost:8080 -e RATE=500 docs/benchmarks/user-endpoints.js
+// Seed users first (see virtual-threads.md); ids are drawn from 1..MAX_ID.
+import http from 'k6/http';
+import { check } from 'k6';
+import encoding from 'k6/encoding';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const RATE = parseInt(__ENV.RATE || '500');
+const DURATION = __ENV.DURATION || '2m';
+const MAX_ID = parseInt(__ENV.MAX_ID || '10000');
+const AUTH = { headers: { Authorization: 'Basic ' + encoding.b64encode('admin:admin') } };
+
+// Open model: arrivals do not slow down when the server does, so queueing shows up in p99
+function scenario(exec, share) {
+    return {
+        executor: 'constant-arrival-rate',
+        exec,
+        rate: Math.max(1, Math.round(RATE * share)),
+        timeUnit: '1s',
+        duration: DURATION,
+        preAllocatedVUs: 200,
+        maxVUs: 2000,
+        tags: { endpoint: exec },
+    };
+}
+
+export const options = {
+    scenarios: {
+        getById: scenario('getById', 0.5),
+        listPage: scenario('listPage', 0.2),
+        byRole: scenario('byRole', 0.15),
+        search: scenario('search', 0.1),
+        stats: scenario('stats', 0.05),
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+    thresholds: {
+        // One threshold per endpoint so the summary lists p99 for each
+        'http_req_duration{endpoint:getById}': ['p(99)<1000000'],
+        'http_req_duration{endpoint:listPage}': ['p(99)<1000000'],
+        'http_req_duration{endpoint:byRole}': ['p(99)<1000000'],
+        'http_req_duration{endpoint:search}': ['p(99)<1000000'],
+        'http_req_duration{endpoint:stats}': ['p(99)<1000000'],
+    },
+};
+
+function ok(res) {
+    check(res, { 'status 2xx': (r) => r.status >= 200 && r.status < 300 });
+}
+
+export function getById() {
+    const id = 1 + Math.floor(Math.random() * MAX_ID);
+    ok(http.get(`${BASE_URL}/api/users/${id}`, AUTH));
+}
+
+export function listPage() {
+    ok(http.get(`${BASE_URL}/api/users?size=50`, AUTH));
+}
+
+export function byRole() {
+    ok(http.get(`${BASE_URL}/api/users/role/DEVELOPER?size=50`, AUTH));
+}
+
+export function search() {
+    ok(http.get(`${BASE_URL}/api/users/search?q=user${Math.floor(Math.random() * 100)}&limit=20`, AUTH));
+}
+
+export function stats() {
+    ok(http.get(`${BASE_URL}/api/users/stats`, AUTH));
+}
@@ -0,0 +1,99 @@
+package com.rdagdi.tasktrack.benchmark;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.rdagdi.tasktrack.dto.CursorPage;
+import com.rdagdi.tasktrack.dto.ErrorResponse;
+import com.rdagdi.tasktrack.dto.UserDTO;
+import com.rdagdi.tasktrack.dto.UserMapper;
+import com.rdagdi.tasktrack.dto.UserView;
+import com.rdagdi.tasktrack.entity.User;
+
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Cost of writing the user API's response bodies with Jackson.
+ *
+ * Uses a default JsonMapper, which matches the Spring Boot one for these
+ * types (ISO-8601 dates, no extra modules). Bodies are written to byte[]
+ * like the HTTP message converter does, so the numbers include UTF-8 encoding.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    // Default and maximum page size of the list endpoints (DEFAULT_PAGE_SIZE, MAX_PAGE_SIZE)
+    @Param({ "50", "500" })
+    private int pageSize;
+
+    private JsonMapper jsonMapper;
+
+    private UserDTO userDTO;
+    private CursorPage<UserDTO> dtoPage;
+    private CursorPage<UserView> viewPage;
+    private ErrorResponse notFound;
+    private ErrorResponse validationError;
+
+    @Setup
+    public void setUp() {
+        jsonMapper = JsonMapper.builder().build();
+
+        List<User> users = new ArrayList<>(pageSize);
+        for (int i = 1; i <= pageSize; i++) {
+            users.add(UserMapperBenchmark.BenchmarkData.user(i));
+        }
+        userDTO = UserMapper.toDTO(users.get(0));
+        dtoPage = new CursorPage<>(UserMapper.toDTOList(users), "eyJpZCI6MjB9", pageSize);
+        viewPage = new CursorPage<>(users.stream()
+                .map(u -> new UserView(u.getId(), u.getUserName(), u.getEmail(), u.getFullName(), u.getRole(),
+                        u.getActive(), u.getCreatedAt(), u.getUpdatedAt(), u.getVersion()))
+                .toList(), "eyJpZCI6MjB9", pageSize);
+
+        notFound = ErrorResponse.of(404, "Not Found", "User not found with id: 42", "/api/users/42");
+        Map<String, String> details = new LinkedHashMap<>();
+        details.put("userName", "Username is required");
+        details.put("email", "Email must be a valid email address");
+        validationError = ErrorResponse.withDetails(400, "Bad Request", "Validation failed",
+                "/api/users", details);
+    }
+
+    // ========== USERS ==========
+
+    @Benchmark
+    public byte[] userDTO() {
+        return jsonMapper.writeValueAsBytes(userDTO);
+    }
+
+    @Benchmark
+    public byte[] userDTOPage() {
+        return jsonMapper.writeValueAsBytes(dtoPage);
+    }
+
+    // Same JSON as userDTOPage; records are serialized through their accessors
+    @Benchmark
+    public byte[] userViewPage() {
+        return jsonMapper.writeValueAsBytes(viewPage);
+    }
+
+    // ========== ERRORS ==========
+
+    @Benchmark
+    public byte[] errorResponse() {
+        return jsonMapper.writeValueAsBytes(notFound);
+    }
+
+    @Benchmark
+    public byte[] validationErrorResponse() {
+        return jsonMapper.writeValueAsBytes(validationError);
+    }
+}
@@ -0,0 +1,149 @@
+package com.rdagdi.tasktrack.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.rdagdi.tasktrack.dto.CreateUserRequest;
+import com.rdagdi.tasktrack.dto.UserDTO;
+import com.rdagdi.tasktrack.dto.UserMapper;
+import com.rdagdi.tasktrack.dto.UserView;
+import com.rdagdi.tasktrack.entity.User;
+
+/**
+ * Cost of the entity/DTO mapping done on every user request.
+ *
+ * Compares the Lombok builder used by UserMapper.toDTO with the all-args
+ * constructor, and the entity-to-DTO path with the UserView projection that
+ * the list endpoints read instead. Run with -prof gc and compare
+ * gc.alloc.rate.norm (bytes per operation).
+ *
+ * The page benchmarks build rows in plain Java, so they leave out JDBC and
+ * Hibernate hydration; UserReadPathHydrationTest measures the page read
+ * through Hibernate against PostgreSQL.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserMapperBenchmark {
+
+    // Default and maximum page size of the list endpoints (DEFAULT_PAGE_SIZE, MAX_PAGE_SIZE)
+    @Param({ "50", "500" })
+    private int pageSize;
+
+    private User user;
+    private List<User> users;
+    private CreateUserRequest createRequest;
+
+    @Setup
+    public void setUp() {
+        user = BenchmarkData.user(1);
+        users = new ArrayList<>(pageSize);
+        for (int i = 1; i <= pageSize; i++) {
+            users.add(BenchmarkData.user(i));
+        }
+        createRequest = BenchmarkData.createRequest();
+    }
+
+    // ========== SINGLE USER ==========
+
+    @Benchmark
+    public UserDTO toDTO() {
+        return UserMapper.toDTO(user);
+    }
+
+    @Benchmark
+    public UserDTO toDTOWithConstructor() {
+        return new UserDTO(user.getId(), user.getUserName(), user.getEmail(), user.getFullName(),
+                user.getRole(), user.getActive(), user.getCreatedAt(), user.getUpdatedAt(), user.getVersion());
+    }
+
+    @Benchmark
+    public User toEntity() {
+        return UserMapper.toEntity(createRequest);
+    }
+
+    @Benchmark
+    public CreateUserRequest createRequestBuilder() {
+        return CreateUserRequest.builder()
+                .userName("jdoe")
+                .email("jdoe@example.com")
+                .fullName("John Doe")
+                .role(User.Role.DEVELOPER)
+                .build();
+    }
+
+    // ========== PAGE ==========
+
+    @Benchmark
+    public List<UserDTO> toDTOList() {
+        return UserMapper.toDTOList(users);
+    }
+
+    // What the list endpoints allocate today: the projection row is the response item
+    @Benchmark
+    public List<UserView> projectionPage() {
+        List<UserView> page = new ArrayList<>(pageSize);
+        for (User u : users) {
+            page.add(new UserView(u.getId(), u.getUserName(), u.getEmail(), u.getFullName(), u.getRole(),
+                    u.getActive(), u.getCreatedAt(), u.getUpdatedAt(), u.getVersion()));
+        }
+        return page;
+    }
+
+    // The Java side of what they allocated before: an entity per row, then a DTO copy of it
+    // (without the hydration and persistence-context bookkeeping Hibernate adds per entity)
+    @Benchmark
+    public List<UserDTO> entityPage() {
+        List<User> rows = new ArrayList<>(pageSize);
+        for (User u : users) {
+            User row = new User();
+            row.setId(u.getId());
+            row.setUserName(u.getUserName());
+            row.setEmail(u.getEmail());
+            row.setFullName(u.getFullName());
+            row.setRole(u.getRole());
+            row.setActive(u.getActive());
+            row.setCreatedAt(u.getCreatedAt());
+            row.setUpdatedAt(u.getUpdatedAt());
+            row.setVersion(u.getVersion());
+            rows.add(row);
+        }
+        return UserMapper.toDTOList(rows);
+    }
+
+    /**
+     * Fixtures shared by the benchmarks in this package
+     */
+    static final class BenchmarkData {
+
+        private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 15, 10, 30);
+
+        private BenchmarkData() {
+        }
+
+        static User user(long id) {
+            User user = new User();
+            user.setId(id);
+            user.setUserName("user" + id);
+            user.setEmail("user" + id + "@example.com");
+            user.setFullName("User Number " + id);
+            user.setRole(User.Role.DEVELOPER);
+            user.setActive(true);
+            user.setCreatedAt(CREATED_AT);
+            user.setUpdatedAt(CREATED_AT.plusDays(id));
+            user.setVersion(3);
+            return user;
+        }
+
+        static CreateUserRequest createRequest() {
+            return new CreateUserRequest("jdoe", "jdoe@example.com", "John Doe", User.Role.DEVELOPER);
+        }
+    }
+}
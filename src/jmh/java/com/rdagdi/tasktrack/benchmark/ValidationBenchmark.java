@@ -0,0 +1,73 @@
+package com.rdagdi.tasktrack.benchmark;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.rdagdi.tasktrack.dto.CreateUserRequest;
+import com.rdagdi.tasktrack.entity.User;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+
+/**
+ * Cost of Bean Validation on a create request (@Valid in UserController)
+ * and on the User entity (Hibernate's pre-persist/pre-update validation).
+ *
+ * The invalid cases include building the violations and interpolating
+ * their messages, which is what a 400 response pays for.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidationBenchmark {
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+
+    private CreateUserRequest validRequest;
+    private CreateUserRequest invalidRequest;
+    private User validUser;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+
+        validRequest = UserMapperBenchmark.BenchmarkData.createRequest();
+        invalidRequest = new CreateUserRequest("", "not-an-email", " ", null);
+        validUser = UserMapperBenchmark.BenchmarkData.user(1);
+
+        // Fail fast if a fixture stops matching its case
+        if (!validator.validate(validRequest).isEmpty() || validator.validate(invalidRequest).size() != 4
+                || !validator.validate(validUser).isEmpty()) {
+            throw new IllegalStateException("Validation fixtures no longer match the constraints");
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CreateUserRequest>> validCreateRequest() {
+        return validator.validate(validRequest);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CreateUserRequest>> invalidCreateRequest() {
+        return validator.validate(invalidRequest);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<User>> validUser() {
+        return validator.validate(validUser);
+    }
+}
@@ -0,0 +1,131 @@
+package com.rdagdi.tasktrack.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit that adapts to observed latency (gradient algorithm).
+ *
+ * Keeps a short-term and a long-term average of request latency. While the
+ * short-term average stays near the long-term one the limit probes upwards by
+ * about sqrt(limit); when latency rises, the limit shrinks in proportion to
+ * longRtt / shortRtt (at most by half per sample). Requests over the limit are
+ * rejected immediately instead of queueing for a database connection, which
+ * keeps the latency of admitted requests bounded when the database slows down.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    // Samples averaged by the short and long latency windows
+    private static final int SHORT_WINDOW = 10;
+    private static final int LONG_WINDOW = 600;
+
+    // Latency may rise to 1.5x the long-term average before the limit shrinks
+    private static final double TOLERANCE = 1.5;
+
+    // Share of each new estimate applied to the limit
+    private static final double SMOOTHING = 0.2;
+
+    // Limit multiplier after a request failed from overload (503)
+    private static final double BACKOFF = 0.9;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+
+    // Guarded by this
+    private double estimatedLimit;
+    private double shortRtt;
+    private double longRtt;
+
+    public AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit) {
+        if (minLimit < 1 || minLimit > maxLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits of '" + name + "' must satisfy 1 <= min <= initial <= max");
+        }
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.estimatedLimit = initialLimit;
+        this.limit = initialLimit;
+    }
+
+    /**
+     * Admit a request if fewer than limit requests are in flight
+     *
+     * @return true if admitted; the caller must then report onSuccess or onDropped
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Report a completed request and its latency
+     */
+    public void onSuccess(long rttNanos) {
+        int concurrent = inFlight.getAndDecrement();
+        update(rttNanos, concurrent);
+    }
+
+    /**
+     * Report a request that failed server-side (e.g. timed out waiting for the database)
+     */
+    public synchronized void onDropped() {
+        inFlight.decrementAndGet();
+        estimatedLimit = Math.max(minLimit, estimatedLimit * BACKOFF);
+        limit = (int) estimatedLimit;
+    }
+
+    /**
+     * Report a request that failed for reasons unrelated to load (e.g. a bug);
+     * frees its slot without touching the limit
+     */
+    public void onIgnored() {
+        inFlight.decrementAndGet();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void update(long rttNanos, int concurrent) {
+        if (rttNanos <= 0) {
+            return;
+        }
+        shortRtt = shortRtt == 0 ? rttNanos : shortRtt + (rttNanos - shortRtt) / SHORT_WINDOW;
+        longRtt = longRtt == 0 ? rttNanos : longRtt + (rttNanos - longRtt) / LONG_WINDOW;
+
+        // Latency dropped well below the long-term average (e.g. after an incident): let it catch up
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+
+        // Mostly idle: the sample says nothing about what a higher limit would do
+        if (concurrent < estimatedLimit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRtt / shortRtt));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        newLimit = estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        limit = (int) estimatedLimit;
+    }
+}
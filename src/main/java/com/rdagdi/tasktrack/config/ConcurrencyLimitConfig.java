@@ -0,0 +1,59 @@
+package com.rdagdi.tasktrack.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Adaptive concurrency limits in front of UserController.
+ *
+ * Enabled with tasktrack.limiter.enabled (on by default). The current limit
+ * and in-flight count of each limiter are published as the
+ * tasktrack.limiter.limit and tasktrack.limiter.in-flight gauges.
+ */
+@Configuration
+@ConditionalOnProperty(name = "tasktrack.limiter.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitConfig implements WebMvcConfigurer {
+
+    private final ConcurrencyLimitInterceptor interceptor;
+
+    public ConcurrencyLimitConfig(MeterRegistry meterRegistry,
+            @Value("${tasktrack.limiter.point.initial-limit:20}") int pointInitial,
+            @Value("${tasktrack.limiter.point.min-limit:4}") int pointMin,
+            @Value("${tasktrack.limiter.point.max-limit:200}") int pointMax,
+            @Value("${tasktrack.limiter.list.initial-limit:8}") int listInitial,
+            @Value("${tasktrack.limiter.list.min-limit:2}") int listMin,
+            @Value("${tasktrack.limiter.list.max-limit:50}") int listMax,
+            @Value("${tasktrack.limiter.retry-after:1s}") Duration retryAfter) {
+        AdaptiveConcurrencyLimiter point = new AdaptiveConcurrencyLimiter("point", pointInitial, pointMin, pointMax);
+        AdaptiveConcurrencyLimiter list = new AdaptiveConcurrencyLimiter("list", listInitial, listMin, listMax);
+        register(meterRegistry, point);
+        register(meterRegistry, list);
+
+        this.interceptor = new ConcurrencyLimitInterceptor(point, list, Math.max(1, retryAfter.toSeconds()));
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // The export streams asynchronously for minutes; its duration says nothing about load
+        registry.addInterceptor(interceptor)
+                .addPathPatterns("/api/users", "/api/users/**")
+                .excludePathPatterns("/api/users/export");
+    }
+
+    private static void register(MeterRegistry registry, AdaptiveConcurrencyLimiter limiter) {
+        Gauge.builder("tasktrack.limiter.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .tag("limiter", limiter.getName())
+                .register(registry);
+        Gauge.builder("tasktrack.limiter.in-flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .tag("limiter", limiter.getName())
+                .register(registry);
+    }
+}
@@ -0,0 +1,97 @@
+package com.rdagdi.tasktrack.config;
+
+import java.util.Set;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.rdagdi.tasktrack.exception.ServiceOverloadedException;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Load shedding for the user API.
+ *
+ * Point lookups and writes on a single user share one adaptive limit; list,
+ * search, report and bulk endpoints, which hold a connection much longer,
+ * share another, so a burst of reports cannot starve point lookups.
+ * Requests over the limit fail fast with 503 and Retry-After (see
+ * GlobalExceptionHandler). Each admitted request's latency feeds its limiter;
+ * only overload (a 503 for a pool or database timeout) shrinks the limit, so
+ * bad requests and bugs cannot talk the limiters down.
+ */
+public class ConcurrencyLimitInterceptor implements HandlerInterceptor {
+
+    private static final String LIMITER_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".limiter";
+    private static final String START_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".start";
+
+    // "METHOD pattern" of the handlers that read many rows or aggregate. Keyed by
+    // method too: POST /api/users (a single create) shares its pattern with the list.
+    private static final Set<String> LIST_ENDPOINTS = Set.of(
+            "GET /api/users",
+            "GET /api/users/active",
+            "GET /api/users/role/{role}",
+            "GET /api/users/search",
+            "GET /api/users/suggest",
+            "GET /api/users/stats",
+            "GET /api/users/reports/signups",
+            "POST /api/users/batch",
+            "POST /api/users/availability");
+
+    private final AdaptiveConcurrencyLimiter pointLimiter;
+    private final AdaptiveConcurrencyLimiter listLimiter;
+    private final long retryAfterSeconds;
+
+    public ConcurrencyLimitInterceptor(AdaptiveConcurrencyLimiter pointLimiter,
+            AdaptiveConcurrencyLimiter listLimiter, long retryAfterSeconds) {
+        this.pointLimiter = pointLimiter;
+        this.listLimiter = listLimiter;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (HttpMethod.OPTIONS.matches(request.getMethod())) {
+            return true;
+        }
+
+        AdaptiveConcurrencyLimiter limiter = limiterFor(request);
+        if (!limiter.tryAcquire()) {
+            throw new ServiceOverloadedException(limiter.getName(), retryAfterSeconds);
+        }
+        request.setAttribute(LIMITER_ATTRIBUTE, limiter);
+        request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        if (!(request.getAttribute(LIMITER_ATTRIBUTE) instanceof AdaptiveConcurrencyLimiter limiter)) {
+            return;
+        }
+        request.removeAttribute(LIMITER_ATTRIBUTE);
+
+        // Exceptions resolved by GlobalExceptionHandler arrive here as the response status
+        if (response.getStatus() == HttpStatus.SERVICE_UNAVAILABLE.value()) {
+            limiter.onDropped();
+        } else if (ex != null || response.getStatus() >= 500) {
+            limiter.onIgnored();
+        } else {
+            limiter.onSuccess(System.nanoTime() - (long) request.getAttribute(START_ATTRIBUTE));
+        }
+    }
+
+    AdaptiveConcurrencyLimiter limiterFor(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern == null) {
+            return pointLimiter;
+        }
+        // HEAD is served by the GET handler
+        String method = HttpMethod.HEAD.matches(request.getMethod()) ? "GET" : request.getMethod();
+        return LIST_ENDPOINTS.contains(method + " " + pattern) ? listLimiter : pointLimiter;
+    }
+}
@@ -0,0 +1,140 @@
+package com.rdagdi.tasktrack.config;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.time.Duration;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Read-your-writes consistency for replica routing.
+ *
+ * Every write request (POST/PUT/PATCH/DELETE) runs on the primary and
+ * returns an {@value #HEADER} response header holding the time of the write.
+ * The time is taken when the response is about to be committed, i.e. after
+ * the handler's transaction has committed, so however long the write took the
+ * pin covers the full lag after it. Clients echo the token on later requests;
+ * while it is younger than the maximum replica lag, their reads are pinned to
+ * the primary as well.
+ *
+ * The token is not signed, so it is bounded instead: unreadable tokens and
+ * tokens further in the future than the lag (more than clock skew between
+ * instances could explain) are ignored, and a token slightly in the future
+ * counts as written now. A client can therefore never stay pinned for more
+ * than twice the maximum lag after its last write.
+ */
+public class ConsistencyTokenFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Consistency-Token";
+
+    private final long maxReplicaLagMillis;
+
+    public ConsistencyTokenFilter(Duration maxReplicaLag) {
+        this.maxReplicaLagMillis = maxReplicaLag.toMillis();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+
+        boolean write = !HttpMethod.GET.matches(request.getMethod())
+                && !HttpMethod.HEAD.matches(request.getMethod())
+                && !HttpMethod.OPTIONS.matches(request.getMethod());
+
+        if (write || isRecentWrite(request.getHeader(HEADER))) {
+            ReadYourWritesContext.pinToPrimary();
+        }
+
+        TokenStampingResponse stamped = write ? new TokenStampingResponse(response) : null;
+        try {
+            filterChain.doFilter(request, stamped != null ? stamped : response);
+            if (stamped != null) {
+                // Responses without a body are committed only after the chain returns
+                stamped.stamp();
+            }
+        } finally {
+            ReadYourWritesContext.clear();
+        }
+    }
+
+    boolean isRecentWrite(String token) {
+        if (token == null || token.isBlank()) {
+            return false;
+        }
+
+        long writtenAt;
+        try {
+            writtenAt = Long.parseLong(token.trim());
+        } catch (NumberFormatException ex) {
+            // Not one of ours; honoring it would let any client opt out of the replicas
+            return false;
+        }
+
+        long now = System.currentTimeMillis();
+        if (writtenAt - now >= maxReplicaLagMillis) {
+            return false;
+        }
+        return now - Math.min(writtenAt, now) < maxReplicaLagMillis;
+    }
+
+    // Sets the token once, just before anything can commit the response
+    private static final class TokenStampingResponse extends HttpServletResponseWrapper {
+
+        private boolean stamped;
+
+        TokenStampingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        void stamp() {
+            if (!stamped && !isCommitted()) {
+                stamped = true;
+                setHeader(HEADER, Long.toString(System.currentTimeMillis()));
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            stamp();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            stamp();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            stamp();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            stamp();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            stamp();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            stamp();
+            super.sendRedirect(location);
+        }
+    }
+}
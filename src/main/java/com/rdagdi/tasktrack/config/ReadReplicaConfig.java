@@ -0,0 +1,107 @@
+package com.rdagdi.tasktrack.config;
+
+import java.time.Duration;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.flyway.autoconfigure.FlywayDataSource;
+import org.springframework.boot.flyway.autoconfigure.FlywayMigrationStrategy;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Read/write splitting between a primary and a replica connection pool.
+ *
+ * Enabled with tasktrack.datasource.replica.enabled=true. Read-only
+ * transactions (@Transactional(readOnly = true) in UserService and the
+ * Spring Data read methods) go to the replica pool; writes, and reads from
+ * clients holding a fresh consistency token, go to the primary. Single-user
+ * lookups that fill the user cache also read the primary on a miss, since a
+ * cached replica row would stay stale for the cache TTL.
+ * When disabled, Spring Boot's single auto-configured pool is used as before.
+ *
+ * Flyway migrates the primary; ReplicaSchemaMigrationStrategy then verifies
+ * (or, for replicas that do not replicate DDL, migrates) the replica schema.
+ */
+@Configuration
+@ConditionalOnProperty(name = "tasktrack.datasource.replica.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    @FlywayDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(Environment env) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("primary");
+        dataSource.setJdbcUrl(env.getRequiredProperty("spring.datasource.url"));
+        dataSource.setUsername(env.getProperty("spring.datasource.username"));
+        dataSource.setPassword(env.getProperty("spring.datasource.password"));
+        dataSource.setDriverClassName(env.getProperty("spring.datasource.driver-class-name"));
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("tasktrack.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(Environment env) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setJdbcUrl(env.getRequiredProperty("tasktrack.datasource.replica.url"));
+        dataSource.setUsername(env.getProperty("tasktrack.datasource.replica.username",
+                env.getProperty("spring.datasource.username")));
+        dataSource.setPassword(env.getProperty("tasktrack.datasource.replica.password",
+                env.getProperty("spring.datasource.password")));
+        dataSource.setDriverClassName(env.getProperty("spring.datasource.driver-class-name"));
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource();
+        routing.setTargetDataSources(Map.of(
+                ReplicaRoutingDataSource.Target.PRIMARY, primary,
+                ReplicaRoutingDataSource.Target.REPLICA, replica));
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+
+        // Defer connection lookup until the transaction's read-only flag is set
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @Bean
+    public FlywayMigrationStrategy replicaSchemaMigrationStrategy(Environment env,
+            @Value("${tasktrack.datasource.replica.schema:verify}") ReplicaSchemaMigrationStrategy.Mode mode,
+            @Value("${tasktrack.datasource.replica.max-lag:5s}") Duration maxReplicaLag) {
+        return new ReplicaSchemaMigrationStrategy(
+                env.getRequiredProperty("tasktrack.datasource.replica.url"),
+                env.getProperty("tasktrack.datasource.replica.username",
+                        env.getProperty("spring.datasource.username")),
+                env.getProperty("tasktrack.datasource.replica.password",
+                        env.getProperty("spring.datasource.password")),
+                mode, maxReplicaLag);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ConsistencyTokenFilter> consistencyTokenFilter(
+            @Value("${tasktrack.datasource.replica.max-lag:5s}") Duration maxReplicaLag) {
+        FilterRegistrationBean<ConsistencyTokenFilter> registration =
+                new FilterRegistrationBean<>(new ConsistencyTokenFilter(maxReplicaLag));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
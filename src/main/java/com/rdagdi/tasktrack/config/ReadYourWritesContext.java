@@ -0,0 +1,29 @@
+package com.rdagdi.tasktrack.config;
+
+/**
+ * Per-thread flag that pins database access to the primary.
+ *
+ * Set for the duration of a request when the client has written recently
+ * (see {@link ConsistencyTokenFilter}), so its reads never hit a replica that
+ * has not caught up with its own writes yet.
+ */
+public final class ReadYourWritesContext {
+
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+
+    // Private constructor to prevent instantiation
+    private ReadYourWritesContext() {
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return Boolean.TRUE.equals(PINNED_TO_PRIMARY.get());
+    }
+
+    static void pinToPrimary() {
+        PINNED_TO_PRIMARY.set(Boolean.TRUE);
+    }
+
+    static void clear() {
+        PINNED_TO_PRIMARY.remove();
+    }
+}
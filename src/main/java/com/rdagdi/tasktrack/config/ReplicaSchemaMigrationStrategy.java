@@ -0,0 +1,93 @@
+package com.rdagdi.tasktrack.config;
+
+import java.time.Duration;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationVersion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.flyway.autoconfigure.FlywayMigrationStrategy;
+
+/**
+ * Brings the replica to the primary's schema during startup.
+ *
+ * Flyway migrates the primary (the @FlywayDataSource in ReadReplicaConfig).
+ * A streaming replica receives those migrations through replication, so in
+ * VERIFY mode this only waits, up to the maximum replica lag, for the replica
+ * to reach the primary's schema version and fails startup if it does not.
+ * Replicas that do not replicate DDL (logical replication, or a separate
+ * database in tests) use MIGRATE to have the same migrations applied directly.
+ */
+public class ReplicaSchemaMigrationStrategy implements FlywayMigrationStrategy {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaSchemaMigrationStrategy.class);
+
+    private static final long POLL_MILLIS = 200;
+
+    public enum Mode {
+        VERIFY, MIGRATE
+    }
+
+    private final String url;
+    private final String username;
+    private final String password;
+    private final Mode mode;
+    private final Duration maxReplicaLag;
+
+    public ReplicaSchemaMigrationStrategy(String url, String username, String password, Mode mode,
+            Duration maxReplicaLag) {
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.mode = mode;
+        this.maxReplicaLag = maxReplicaLag;
+    }
+
+    @Override
+    public void migrate(Flyway primary) {
+        primary.migrate();
+
+        // Own short-lived connection: the replica pool's connections are read-only
+        Flyway replica = Flyway.configure()
+                .configuration(primary.getConfiguration())
+                .dataSource(url, username, password)
+                .load();
+
+        if (mode == Mode.MIGRATE) {
+            replica.migrate();
+            logger.info("Replica schema migrated to version {}", version(replica));
+            return;
+        }
+
+        MigrationVersion expected = version(primary);
+        long deadline = System.nanoTime() + maxReplicaLag.toNanos();
+        while (true) {
+            MigrationVersion actual = version(replica);
+            if (expected == null || (actual != null && actual.compareTo(expected) >= 0)) {
+                logger.info("Replica schema is at version {}", actual);
+                return;
+            }
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Replica schema is at version " + actual
+                        + " but the primary is at " + expected + " after waiting " + maxReplicaLag
+                        + "; use tasktrack.datasource.replica.schema=migrate if the replica does not replicate DDL");
+            }
+            sleep();
+        }
+    }
+
+    private static MigrationVersion version(Flyway flyway) {
+        MigrationInfo current = flyway.info().current();
+        return current != null ? current.getVersion() : null;
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(POLL_MILLIS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the replica schema", ex);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.rdagdi.tasktrack.config;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * SQL statements and JDBC time of the current request, per thread.
+ *
+ * Started by {@link SqlBudgetInterceptor} and fed by Hibernate through
+ * {@link SqlStatementInspector} (one call per prepared statement) and
+ * {@link SqlTimingSessionListener} (one call per execution, i.e. round trip).
+ * Queries run on other threads are only counted when that thread measures
+ * them and hands them back: UserBatchLoader adds the query of a shared batch
+ * to every request that waited on it, so per-request counts can add up to
+ * more statements than the database actually ran.
+ */
+public final class RequestSqlStats {
+
+    private static final ThreadLocal<RequestSqlStats> CURRENT = new ThreadLocal<>();
+
+    // Distinct statement shapes kept per request; further shapes are only counted
+    private static final int MAX_SHAPES = 50;
+    private static final int MAX_SHAPE_LENGTH = 300;
+
+    private int statements;
+    private int roundTrips;
+    private long jdbcNanos;
+    private final Map<String, Integer> shapes = new LinkedHashMap<>();
+
+    private RequestSqlStats() {
+    }
+
+    /**
+     * Start counting on this thread, replacing any previous stats
+     */
+    public static RequestSqlStats begin() {
+        RequestSqlStats stats = new RequestSqlStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * Stats of the current thread, or null when nothing is being counted
+     */
+    public static RequestSqlStats current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Stop counting on this thread
+     *
+     * @return The final stats, or null if counting was not started
+     */
+    public static RequestSqlStats end() {
+        RequestSqlStats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats;
+    }
+
+    /**
+     * Make earlier stats current again after measuring nested work separately
+     *
+     * @param stats The stats to continue, or null to stop counting
+     */
+    public static void restore(RequestSqlStats stats) {
+        if (stats == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(stats);
+        }
+    }
+
+    void statementPrepared(String sql) {
+        statements++;
+        // SQL is already parameterized (?), so the text is the statement shape
+        String shape = sql.replaceAll("\\s+", " ").trim();
+        if (shape.length() > MAX_SHAPE_LENGTH) {
+            shape = shape.substring(0, MAX_SHAPE_LENGTH) + "...";
+        }
+        if (shapes.containsKey(shape) || shapes.size() < MAX_SHAPES) {
+            shapes.merge(shape, 1, Integer::sum);
+        }
+    }
+
+    void executed(long nanos) {
+        roundTrips++;
+        jdbcNanos += nanos;
+    }
+
+    /**
+     * Add statements measured on another thread on behalf of this request
+     */
+    public void include(RequestSqlStats other) {
+        statements += other.statements;
+        roundTrips += other.roundTrips;
+        jdbcNanos += other.jdbcNanos;
+        other.shapes.forEach((shape, count) -> {
+            if (shapes.containsKey(shape) || shapes.size() < MAX_SHAPES) {
+                shapes.merge(shape, count, Integer::sum);
+            }
+        });
+    }
+
+    /**
+     * Statements prepared (a JDBC batch of many rows is one statement)
+     */
+    public int getStatements() {
+        return statements;
+    }
+
+    /**
+     * Statement and batch executions, i.e. database round trips
+     */
+    public int getRoundTrips() {
+        return roundTrips;
+    }
+
+    /**
+     * Time spent executing statements (excludes fetching result rows)
+     */
+    public Duration getJdbcTime() {
+        return Duration.ofNanos(jdbcNanos);
+    }
+
+    /**
+     * Statement shapes in first-seen order, with how often each was prepared
+     */
+    public Map<String, Integer> getShapes() {
+        return Collections.unmodifiableMap(shapes);
+    }
+}
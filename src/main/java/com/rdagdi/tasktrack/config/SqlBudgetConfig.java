@@ -0,0 +1,41 @@
+package com.rdagdi.tasktrack.config;
+
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Per-request SQL tracking for the user API.
+ *
+ * Enabled with tasktrack.sql.tracking.enabled (on by default). Hibernate
+ * reports statements through SqlStatementInspector and SqlTimingSessionListener,
+ * which are registered in application.properties. The export endpoint is
+ * not tracked at all: it streams every user by design.
+ */
+@Configuration
+@ConditionalOnProperty(name = "tasktrack.sql.tracking.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlBudgetConfig implements WebMvcConfigurer {
+
+    private final SqlBudgetInterceptor interceptor;
+
+    public SqlBudgetConfig(MeterRegistry meterRegistry,
+            @Value("${tasktrack.sql.budget.max-statements:3}") int maxStatements,
+            @Value("${tasktrack.sql.budget.repeat-threshold:3}") int repeatThreshold,
+            @Value("${tasktrack.sql.budget.exempt:POST /api/users/batch}") String[] exemptEndpoints) {
+        this.interceptor = new SqlBudgetInterceptor(meterRegistry, maxStatements, repeatThreshold,
+                Set.of(exemptEndpoints));
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(interceptor)
+                .addPathPatterns("/api/**")
+                .excludePathPatterns("/api/users/export");
+    }
+}
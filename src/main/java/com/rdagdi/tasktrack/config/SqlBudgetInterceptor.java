@@ -0,0 +1,117 @@
+package com.rdagdi.tasktrack.config;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Per-request SQL budget.
+ *
+ * Counts the statements each request runs (see {@link RequestSqlStats}),
+ * records them per endpoint as tasktrack.sql.statements and tasktrack.sql.time
+ * (tagged by HTTP method and URI pattern), and logs a warning with the
+ * statement shapes when a request goes over the statement budget or repeats
+ * one statement often enough to suggest an N+1 pattern.
+ *
+ * Exempt endpoints ("METHOD /uri-pattern", e.g. the chunked batch create,
+ * whose statement count grows with the input) are measured but never flagged.
+ */
+public class SqlBudgetInterceptor implements AsyncHandlerInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlBudgetInterceptor.class);
+
+    private final MeterRegistry meterRegistry;
+    private final int maxStatements;
+    private final int repeatThreshold;
+    private final Set<String> exemptEndpoints;
+
+    public SqlBudgetInterceptor(MeterRegistry meterRegistry, int maxStatements, int repeatThreshold,
+            Set<String> exemptEndpoints) {
+        this.meterRegistry = meterRegistry;
+        this.maxStatements = maxStatements;
+        this.repeatThreshold = repeatThreshold;
+        this.exemptEndpoints = exemptEndpoints;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestSqlStats.begin();
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+            Object handler) {
+        // The rest of the request runs on another thread; do not leak the stats to this one
+        RequestSqlStats.end();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        RequestSqlStats stats = RequestSqlStats.end();
+        if (stats == null) {
+            return;
+        }
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+
+        DistributionSummary.builder("tasktrack.sql.statements")
+                .description("SQL statements per request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        Timer.builder("tasktrack.sql.time")
+                .description("JDBC execution time per request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getJdbcTime());
+
+        if (exemptEndpoints.contains(request.getMethod() + " " + uri)) {
+            return;
+        }
+
+        // The same statement prepared again and again usually means lazy loading in a loop
+        long repeated = stats.getShapes().values().stream()
+                .filter(count -> count >= repeatThreshold)
+                .count();
+
+        if (stats.getStatements() > maxStatements || repeated > 0) {
+            meterRegistry.counter("tasktrack.sql.budget.exceeded",
+                    "method", request.getMethod(),
+                    "uri", uri)
+                    .increment();
+            logger.warn("SQL budget exceeded by {}: {} statements (budget {}), {} round trips, {} ms{}\n{}",
+                    request.getMethod() + " " + uri, stats.getStatements(), maxStatements, stats.getRoundTrips(),
+                    millis(stats.getJdbcTime()),
+                    repeated == 0 ? "" : ", possible N+1: " + repeated + " repeated statement(s)",
+                    describe(stats.getShapes()));
+        }
+    }
+
+    private static String describe(Map<String, Integer> shapes) {
+        return shapes.entrySet().stream()
+                .map(shape -> "  " + shape.getValue() + "x " + shape.getKey())
+                .collect(Collectors.joining("\n"));
+    }
+
+    private static String millis(Duration duration) {
+        return String.format("%.1f", duration.toNanos() / 1_000_000.0);
+    }
+}
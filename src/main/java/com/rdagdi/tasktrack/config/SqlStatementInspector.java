@@ -0,0 +1,20 @@
+package com.rdagdi.tasktrack.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts every SQL statement Hibernate prepares into {@link RequestSqlStats}.
+ * Registered with hibernate.session_factory.statement_inspector; the SQL is
+ * returned unchanged.
+ */
+public class SqlStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        RequestSqlStats stats = RequestSqlStats.current();
+        if (stats != null) {
+            stats.statementPrepared(sql);
+        }
+        return sql;
+    }
+}
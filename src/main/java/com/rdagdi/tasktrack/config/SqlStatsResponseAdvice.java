@@ -0,0 +1,42 @@
+package com.rdagdi.tasktrack.config;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds the SQL counts of the request to its response headers.
+ *
+ * Runs just before the body is written, when all statements of the request
+ * have run but headers can still be set. Responses without a body (304) get
+ * no headers. Does nothing unless SqlBudgetInterceptor is counting.
+ */
+@ControllerAdvice
+public class SqlStatsResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String STATEMENTS_HEADER = "X-Sql-Statements";
+    public static final String ROUND_TRIPS_HEADER = "X-Sql-Round-Trips";
+    public static final String TIME_HEADER = "X-Sql-Time-Ms";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType, ServerHttpRequest request,
+            ServerHttpResponse response) {
+        RequestSqlStats stats = RequestSqlStats.current();
+        if (stats != null) {
+            response.getHeaders().set(STATEMENTS_HEADER, Integer.toString(stats.getStatements()));
+            response.getHeaders().set(ROUND_TRIPS_HEADER, Integer.toString(stats.getRoundTrips()));
+            response.getHeaders().set(TIME_HEADER, Long.toString(stats.getJdbcTime().toMillis()));
+        }
+        return body;
+    }
+}
@@ -0,0 +1,40 @@
+package com.rdagdi.tasktrack.config;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Times statement and batch executions into {@link RequestSqlStats}.
+ * Registered with hibernate.session.events.auto; Hibernate creates one
+ * instance per session, and a session is used by one thread at a time.
+ */
+public class SqlTimingSessionListener implements SessionEventListener {
+
+    private long startNanos;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        startNanos = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        record();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        startNanos = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        record();
+    }
+
+    private void record() {
+        RequestSqlStats stats = RequestSqlStats.current();
+        if (stats != null) {
+            stats.executed(System.nanoTime() - startNanos);
+        }
+    }
+}
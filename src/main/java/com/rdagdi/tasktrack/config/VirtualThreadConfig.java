@@ -0,0 +1,72 @@
+package com.rdagdi.tasktrack.config;
+
+import java.time.Duration;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Pool-aware throttling for virtual-thread mode.
+ *
+ * spring.threads.virtual.enabled=true makes Tomcat run each request on a
+ * virtual thread instead of the bounded platform pool, so nothing limits how
+ * many requests reach the connection pool at once. This wraps every Hikari
+ * pool (the auto-configured one, or primary and replica with
+ * ReadReplicaConfig) in a PoolThrottlingDataSource sized to that pool.
+ *
+ * Enabled with tasktrack.datasource.throttle.enabled, which defaults to the
+ * virtual-thread setting.
+ */
+@Configuration
+@ConditionalOnProperty(name = "tasktrack.datasource.throttle.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    // Static: post-processors must be created before the beans they process
+    @Bean
+    public static BeanPostProcessor poolThrottlingPostProcessor(Environment env) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof HikariDataSource pool)) {
+                    return bean;
+                }
+
+                // Pool settings are bound by now; wait as long as the pool itself would
+                Duration acquireTimeout = env.getProperty("tasktrack.datasource.throttle.acquire-timeout",
+                        Duration.class, Duration.ofMillis(pool.getConnectionTimeout()));
+                logger.info("Throttling '{}' to {} concurrent connection requests (timeout {})",
+                        beanName, pool.getMaximumPoolSize(), acquireTimeout);
+                return new PoolThrottlingDataSource(pool, pool.getMaximumPoolSize(), acquireTimeout);
+            }
+        };
+    }
+
+    // In this mode callers wait in the semaphore, so hikaricp.connections.pending stays near zero;
+    // tasktrack.datasource.throttle.waiting{pool} shows the real connection queue
+    @Bean
+    public MeterBinder poolThrottlingMetrics(Map<String, DataSource> dataSources) {
+        return registry -> dataSources.forEach((beanName, dataSource) -> {
+            if (dataSource instanceof PoolThrottlingDataSource throttled) {
+                Gauge.builder("tasktrack.datasource.throttle.waiting", throttled,
+                        PoolThrottlingDataSource::getQueueLength)
+                        .tag("pool", beanName)
+                        .register(registry);
+            }
+        });
+    }
+}
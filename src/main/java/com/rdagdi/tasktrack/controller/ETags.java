@@ -0,0 +1,85 @@
+package com.rdagdi.tasktrack.controller;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.WebRequest;
+
+import com.rdagdi.tasktrack.dto.PageVersion;
+import com.rdagdi.tasktrack.entity.User;
+import com.rdagdi.tasktrack.exception.PreconditionFailedException;
+
+/**
+ * Entity tags for user responses.
+ * The ETag of a user is its optimistic-lock version, so an If-Match
+ * header can be checked against the version column without extra state.
+ * List pages are tagged with a summary of their rows (see PageVersion).
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * Strong ETag value for a user (quoted, as sent in the header)
+     */
+    static String of(User user) {
+        return of(user.getVersion());
+    }
+
+    static String of(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Strong ETag value for a list page; the "p-" prefix keeps it distinct from user tags
+     */
+    static String of(PageVersion page) {
+        long modified = page.lastModified() == null ? 0
+                : page.lastModified().toEpochSecond(ZoneOffset.UTC) * 1_000_000
+                        + page.lastModified().getNano() / 1_000;
+        return "\"p-" + page.lastId() + "-" + page.rows() + "-" + Long.toHexString(modified)
+                + "-" + (page.hasNext() ? 1 : 0) + "\"";
+    }
+
+    /**
+     * Last-Modified value in epoch milliseconds, or -1 if unknown (no header)
+     */
+    static long lastModified(LocalDateTime updatedAt) {
+        return updatedAt == null ? -1 : updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Whether the request revalidates a cached copy (If-None-Match or If-Modified-Since)
+     */
+    static boolean isConditional(WebRequest request) {
+        return request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
+    /**
+     * Version expected by an If-Match header
+     *
+     * @param ifMatch Header value, may be null
+     * @return The expected version, or null if there is no precondition ("*" or absent)
+     * @throws PreconditionFailedException if the tag can never match (weak or not one of ours)
+     */
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+
+        // If-Match uses strong comparison, so weak tags (W/"...") never match
+        String tag = ifMatch.trim();
+        if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new PreconditionFailedException("If-Match must be a single strong ETag: " + ifMatch);
+        }
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException ex) {
+            throw new PreconditionFailedException("If-Match does not match the current user: " + ifMatch);
+        }
+    }
+}
@@ -1,23 +1,48 @@
 package com.rdagdi.tasktrack.controller;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.rdagdi.tasktrack.dto.AvailabilityRequest;
+import com.rdagdi.tasktrack.dto.AvailabilityResponse;
+import com.rdagdi.tasktrack.dto.BatchCreateResponse;
+import com.rdagdi.tasktrack.dto.BatchCreateUserRequest;
 import com.rdagdi.tasktrack.dto.CreateUserRequest;
+import com.rdagdi.tasktrack.dto.CursorPage;
+import com.rdagdi.tasktrack.dto.PageVersion;
+import com.rdagdi.tasktrack.dto.PatchUserRequest;
+import com.rdagdi.tasktrack.dto.SignupReport;
 import com.rdagdi.tasktrack.dto.UpdateUserRequest;
 import com.rdagdi.tasktrack.dto.UserDTO;
 import com.rdagdi.tasktrack.dto.UserMapper;
+import com.rdagdi.tasktrack.dto.UserSearchResult;
+import com.rdagdi.tasktrack.dto.UserStats;
+import com.rdagdi.tasktrack.dto.UserSuggestion;
+import com.rdagdi.tasktrack.dto.UserView;
 import com.rdagdi.tasktrack.entity.User;
+import com.rdagdi.tasktrack.repository.UserVersion;
+import com.rdagdi.tasktrack.service.BatchCreateResult;
+import com.rdagdi.tasktrack.service.SignupReportService;
+import com.rdagdi.tasktrack.service.UserExportService;
 import com.rdagdi.tasktrack.service.UserService;
 
 import jakarta.validation.Valid;
@@ -30,10 +55,17 @@ import jakarta.validation.Valid;
 @RequestMapping("/api/users")
 public class UserController {
 
+    private static final String DEFAULT_PAGE_SIZE = "50";
+
     private final UserService userService;
+    private final UserExportService userExportService;
+    private final SignupReportService signupReportService;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, UserExportService userExportService,
+            SignupReportService signupReportService) {
         this.userService = userService;
+        this.userExportService = userExportService;
+        this.signupReportService = signupReportService;
     }
 
     /**
@@ -44,54 +76,177 @@ public class UserController {
     public ResponseEntity<UserDTO> createUser(@Valid @RequestBody CreateUserRequest request) {
         User user = UserMapper.toEntity(request);
         User createdUser = userService.createUser(user);
-        return new ResponseEntity<>(UserMapper.toDTO(createdUser), HttpStatus.CREATED);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .eTag(ETags.of(createdUser))
+                .body(UserMapper.toDTO(createdUser));
     }
 
     /**
-     * Get all users
-     * GET /api/users
+     * Create many users in one request
+     * POST /api/users/batch
+     * Duplicates are reported per item instead of failing the whole request.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<BatchCreateResponse> createUsers(@Valid @RequestBody BatchCreateUserRequest request) {
+        List<User> users = request.getUsers().stream()
+                .map(UserMapper::toEntity)
+                .toList();
+        List<BatchCreateResult> results = userService.createUsers(users);
+        return ResponseEntity.ok(toBatchResponse(results));
+    }
+
+    /**
+     * Check availability of many usernames and emails at once
+     * POST /api/users/availability
+     */
+    @PostMapping("/availability")
+    public ResponseEntity<AvailabilityResponse> checkAvailability(@Valid @RequestBody AvailabilityRequest request) {
+        List<String> usernames = request.getUsernames() != null ? request.getUsernames() : List.of();
+        List<String> emails = request.getEmails() != null ? request.getEmails() : List.of();
+
+        return ResponseEntity.ok(AvailabilityResponse.builder()
+                .usernames(userService.checkUsernamesAvailability(usernames))
+                .emails(userService.checkEmailsAvailability(emails))
+                .build());
+    }
+
+    /**
+     * Get a page of all users
+     * GET /api/users?cursor={next}&size={size}
+     * With If-None-Match an unchanged page is answered 304 without loading its rows.
      */
     @GetMapping
-    public ResponseEntity<List<UserDTO>> getAllUsers() {
-        List<User> users = userService.getAllUsers();
+    public ResponseEntity<CursorPage<UserView>> getAllUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size,
+            WebRequest request) {
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && request.checkNotModified(ETags.of(userService.getAllUsersPageVersion(cursor, size)))) {
+            return null;
+        }
+        return withPageETag(userService.getAllUsers(cursor, size));
+    }
+
+    /**
+     * Get many users by ID in one call (unknown ids are skipped)
+     * GET /api/users?ids=1,2,3
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<UserDTO>> getUsersByIds(@RequestParam List<Long> ids) {
+        List<User> users = userService.getUsersByIds(ids);
         return ResponseEntity.ok(UserMapper.toDTOList(users));
     }
 
+    /**
+     * Fuzzy search users by full name, best matches first
+     * GET /api/users/search?q={text}&limit={limit}
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<UserSearchResult>> searchUsers(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit) {
+        List<UserSearchResult> results = userService.searchUsers(q, limit).stream()
+                .map(UserMapper::toSearchResult)
+                .toList();
+        return ResponseEntity.ok(results);
+    }
+
+    /**
+     * Typeahead suggestions by username/email prefix (active users only)
+     * GET /api/users/suggest?prefix={text}&limit={limit}
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<UserSuggestion>> suggestUsers(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(userService.suggestUsers(prefix, limit));
+    }
+
+    /**
+     * User counts by role and active status (dashboard)
+     * GET /api/users/stats
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<UserStats> getUserStats() {
+        return ResponseEntity.ok(userService.getUserStats());
+    }
+
+    /**
+     * Signup histogram computed in the database (defaults to the last 30 days by day)
+     * GET /api/users/reports/signups?granularity=HOUR|DAY|WEEK&from=...&to=...&byRole=true
+     */
+    @GetMapping("/reports/signups")
+    public ResponseEntity<SignupReport> getSignupReport(
+            @RequestParam(defaultValue = "DAY") SignupReportService.Granularity granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "false") boolean byRole) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minusDays(30);
+        return ResponseEntity.ok(signupReportService.getSignupReport(granularity, start, end, byRole));
+    }
+
     /**
      * Get user by ID
      * GET /api/users/{id}
+     * If-None-Match / If-Modified-Since are checked against the version alone (304 without loading the user).
      */
     @GetMapping("/{id}")
-    public ResponseEntity<UserDTO> getUserById(@PathVariable Long id) {
+    public ResponseEntity<UserDTO> getUserById(@PathVariable Long id, WebRequest request) {
+        if (ETags.isConditional(request)) {
+            UserVersion version = userService.getUserVersion(id);
+            if (request.checkNotModified(ETags.of(version.version()), ETags.lastModified(version.updatedAt()))) {
+                return null;
+            }
+        }
         User user = userService.getUserById(id);
-        return ResponseEntity.ok(UserMapper.toDTO(user));
+        return withETag(user);
     }
 
     /**
      * Update user by ID
      * PUT /api/users/{id}
+     * With If-Match: "{version}" the update only applies if nobody changed the user since (else 412).
      */
     @PutMapping("/{id}")
     public ResponseEntity<UserDTO> updateUser(
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody UpdateUserRequest request) {
 
-        // Get existing user and apply updates
-        User existingUser = userService.getUserById(id);
-        UserMapper.updateEntity(existingUser, request);
+        // The service loads the existing user itself; no extra read here
+        User changes = new User();
+        UserMapper.updateEntity(changes, request);
 
-        User updatedUser = userService.updateUser(id, existingUser);
-        return ResponseEntity.ok(UserMapper.toDTO(updatedUser));
+        User updatedUser = userService.updateUser(id, changes, ETags.expectedVersion(ifMatch));
+        return withETag(updatedUser);
+    }
+
+    /**
+     * Partially update user by ID (only the provided fields)
+     * PATCH /api/users/{id}
+     * Honours If-Match like PUT.
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<UserDTO> patchUser(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody PatchUserRequest request) {
+        User patchedUser = userService.patchUser(id, request, ETags.expectedVersion(ifMatch));
+        return withETag(patchedUser);
     }
 
     /**
      * Soft delete user by ID (deactivate)
      * DELETE /api/users/{id}
+     * Honours If-Match like PUT.
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<UserDTO> deleteUser(@PathVariable Long id) {
-        User deactivatedUser = userService.deleteUser(id);
-        return ResponseEntity.ok(UserMapper.toDTO(deactivatedUser));
+    public ResponseEntity<UserDTO> deleteUser(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        User deactivatedUser = userService.deleteUser(id, ETags.expectedVersion(ifMatch));
+        return withETag(deactivatedUser);
     }
 
     /**
@@ -101,26 +256,99 @@ public class UserController {
     @PutMapping("/{id}/reactivate")
     public ResponseEntity<UserDTO> reactivateUser(@PathVariable Long id) {
         User reactivatedUser = userService.reactivateUser(id);
-        return ResponseEntity.ok(UserMapper.toDTO(reactivatedUser));
+        return withETag(reactivatedUser);
     }
 
     /**
-     * Get all active users
-     * GET /api/users/active
+     * Get a page of active users
+     * GET /api/users/active?cursor={next}&size={size}
+     * Honours If-None-Match like GET /api/users.
      */
     @GetMapping("/active")
-    public ResponseEntity<List<UserDTO>> getActiveUsers() {
-        List<User> users = userService.getAllActiveUsers();
-        return ResponseEntity.ok(UserMapper.toDTOList(users));
+    public ResponseEntity<CursorPage<UserView>> getActiveUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size,
+            WebRequest request) {
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && request.checkNotModified(ETags.of(userService.getActiveUsersPageVersion(cursor, size)))) {
+            return null;
+        }
+        return withPageETag(userService.getAllActiveUsers(cursor, size));
     }
 
     /**
-     * Get users by role
-     * GET /api/users/role/{role}
+     * Get a page of users by role
+     * GET /api/users/role/{role}?cursor={next}&size={size}
+     * Honours If-None-Match like GET /api/users.
      */
     @GetMapping("/role/{role}")
-    public ResponseEntity<List<UserDTO>> getUsersByRole(@PathVariable User.Role role) {
-        List<User> users = userService.getUsersByRole(role);
-        return ResponseEntity.ok(UserMapper.toDTOList(users));
+    public ResponseEntity<CursorPage<UserView>> getUsersByRole(
+            @PathVariable User.Role role,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size,
+            WebRequest request) {
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && request.checkNotModified(ETags.of(userService.getUsersByRolePageVersion(role, cursor, size)))) {
+            return null;
+        }
+        return withPageETag(userService.getUsersByRole(role, cursor, size));
+    }
+
+    /**
+     * Stream all users as NDJSON (default) or CSV
+     * GET /api/users/export?format=NDJSON|CSV
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestParam(defaultValue = "NDJSON") UserExportService.Format format) {
+
+        MediaType contentType = format == UserExportService.Format.CSV
+                ? MediaType.parseMediaType("text/csv")
+                : MediaType.APPLICATION_NDJSON;
+        String fileName = format == UserExportService.Format.CSV ? "users.csv" : "users.ndjson";
+
+        StreamingResponseBody body = out -> userExportService.exportUsers(format, out);
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(body);
+    }
+
+    // Single-user responses carry the version as ETag for later If-Match requests
+    private static ResponseEntity<UserDTO> withETag(User user) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(ETags.of(user));
+        long lastModified = ETags.lastModified(user.getUpdatedAt());
+        if (lastModified >= 0) {
+            response.lastModified(lastModified);
+        }
+        return response.body(UserMapper.toDTO(user));
+    }
+
+    // Pages carry only an ETag: Last-Modified would miss rows leaving the page
+    // (hard deletes, deactivation), which do not raise the newest updatedAt
+    private static ResponseEntity<CursorPage<UserView>> withPageETag(CursorPage<UserView> page) {
+        return ResponseEntity.ok()
+                .eTag(ETags.of(PageVersion.of(page)))
+                .body(page);
+    }
+
+    private BatchCreateResponse toBatchResponse(List<BatchCreateResult> results) {
+        List<BatchCreateResponse.Item> items = results.stream()
+                .map(result -> BatchCreateResponse.Item.builder()
+                        .index(result.index())
+                        .status(result.isCreated()
+                                ? BatchCreateResponse.Status.CREATED
+                                : BatchCreateResponse.Status.DUPLICATE)
+                        .user(UserMapper.toDTO(result.user()))
+                        .error(result.error())
+                        .build())
+                .toList();
+        int created = (int) results.stream().filter(BatchCreateResult::isCreated).count();
+
+        return BatchCreateResponse.builder()
+                .created(created)
+                .failed(results.size() - created)
+                .results(items)
+                .build();
     }
 }
@@ -0,0 +1,29 @@
+package com.rdagdi.tasktrack.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request DTO for checking many usernames and emails in one call.
+ * Either list may be omitted.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityRequest {
+
+    @Size(max = 1000, message = "At most 1000 usernames can be checked per request")
+    private List<@NotBlank(message = "Username must not be blank") String> usernames;
+
+    @Size(max = 1000, message = "At most 1000 emails can be checked per request")
+    private List<@NotBlank(message = "Email must not be blank")
+    @Email(message = "Email must be a valid email address") String> emails;
+}
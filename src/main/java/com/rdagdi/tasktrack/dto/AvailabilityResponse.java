@@ -0,0 +1,22 @@
+package com.rdagdi.tasktrack.dto;
+
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO for batch availability checks.
+ * Maps every requested value to true (available) or false (taken), in request order.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityResponse {
+
+    private Map<String, Boolean> usernames;
+    private Map<String, Boolean> emails;
+}
@@ -0,0 +1,42 @@
+package com.rdagdi.tasktrack.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO for bulk user creation.
+ * Contains one result per request item, in request order.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchCreateResponse {
+
+    private int created;
+    private int failed;
+    private List<Item> results;
+
+    public enum Status {
+        CREATED, DUPLICATE
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Item {
+
+        private int index;
+        private Status status;
+        private UserDTO user;
+        private String error;
+    }
+}
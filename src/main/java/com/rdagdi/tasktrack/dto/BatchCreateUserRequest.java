@@ -0,0 +1,26 @@
+package com.rdagdi.tasktrack.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request DTO for creating many users in one call.
+ * Each entry is validated like a single CreateUserRequest.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchCreateUserRequest {
+
+    @NotEmpty(message = "At least one user is required")
+    @Size(max = 1000, message = "At most 1000 users can be created per request")
+    private List<@Valid CreateUserRequest> users;
+}
@@ -0,0 +1,24 @@
+package com.rdagdi.tasktrack.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response wrapper for keyset (cursor) paginated lists.
+ * Clients pass the {@code next} token back as the {@code cursor} query
+ * parameter to fetch the following page; it is null on the last page.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    private List<T> items;
+    private String next;
+    private int size;
+}
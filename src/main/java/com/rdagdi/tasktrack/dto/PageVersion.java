@@ -0,0 +1,26 @@
+package com.rdagdi.tasktrack.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Summary of one keyset page: its row count, last id, newest updatedAt and
+ * whether a next page exists. Any insert, update or delete that changes the
+ * page content changes at least one of these, so it serves as the page ETag.
+ * {@code lastModified} and {@code lastId} are null for an empty page.
+ */
+public record PageVersion(LocalDateTime lastModified, long rows, Long lastId, boolean hasNext) {
+
+    /**
+     * Summary of an already loaded page (same values the database summary query returns)
+     */
+    public static PageVersion of(CursorPage<UserView> page) {
+        List<UserView> items = page.getItems();
+        LocalDateTime lastModified = items.stream()
+                .map(UserView::updatedAt)
+                .max(LocalDateTime::compareTo)
+                .orElse(null);
+        Long lastId = items.isEmpty() ? null : items.get(items.size() - 1).id();
+        return new PageVersion(lastModified, items.size(), lastId, page.getNext() != null);
+    }
+}
@@ -0,0 +1,37 @@
+package com.rdagdi.tasktrack.dto;
+
+import com.rdagdi.tasktrack.entity.User;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request DTO for partially updating a user.
+ * Only non-null fields are applied; omitted fields keep their current value.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PatchUserRequest {
+
+    private static final String NOT_BLANK = ".*\\S.*";
+
+    @Pattern(regexp = NOT_BLANK, message = "Username must not be blank")
+    private String userName;
+
+    @Pattern(regexp = NOT_BLANK, message = "Email must not be blank")
+    @Email(message = "Email must be a valid email address")
+    private String email;
+
+    @Pattern(regexp = NOT_BLANK, message = "Full name must not be blank")
+    private String fullName;
+
+    private User.Role role;
+
+    private Boolean active;
+}
@@ -0,0 +1,44 @@
+package com.rdagdi.tasktrack.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.rdagdi.tasktrack.entity.User;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO for the signup histogram report.
+ * {@code from}/{@code to} are the requested range widened to whole buckets;
+ * every bucket in that range is listed, including empty ones.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SignupReport {
+
+    private String granularity;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private long total;
+    private List<Bucket> buckets;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Bucket {
+
+        private LocalDateTime start;
+        private long count;
+        // Only present when the report is split by role
+        private Map<User.Role, Long> byRole;
+    }
+}
@@ -28,4 +28,6 @@ public class UserDTO {
     private Boolean active;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    // Also sent as the ETag header; echo it in If-Match to update safely
+    private long version;
 }
@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 import com.rdagdi.tasktrack.entity.User;
+import com.rdagdi.tasktrack.repository.UserSearchHit;
 
 /**
  * Utility class for converting between User entity and DTOs.
@@ -32,6 +33,7 @@ public class UserMapper {
                 .active(user.getActive())
                 .createdAt(user.getCreatedAt())
                 .updatedAt(user.getUpdatedAt())
+                .version(user.getVersion())
                 .build();
     }
 
@@ -79,4 +81,47 @@ public class UserMapper {
         user.setRole(request.getRole());
         user.setActive(request.getActive());
     }
+
+    /**
+     * Apply the non-null fields of a PatchUserRequest to an existing User entity
+     */
+    public static void patchEntity(User user, PatchUserRequest request) {
+        if (user == null || request == null) {
+            return;
+        }
+
+        if (request.getUserName() != null) {
+            user.setUserName(request.getUserName());
+        }
+        if (request.getEmail() != null) {
+            user.setEmail(request.getEmail());
+        }
+        if (request.getFullName() != null) {
+            user.setFullName(request.getFullName());
+        }
+        if (request.getRole() != null) {
+            user.setRole(request.getRole());
+        }
+        if (request.getActive() != null) {
+            user.setActive(request.getActive());
+        }
+    }
+
+    /**
+     * Convert a search hit projection to a UserSearchResult
+     */
+    public static UserSearchResult toSearchResult(UserSearchHit hit) {
+        if (hit == null) {
+            return null;
+        }
+
+        return new UserSearchResult(
+                hit.getId(),
+                hit.getUserName(),
+                hit.getEmail(),
+                hit.getFullName(),
+                hit.getRole(),
+                hit.getActive(),
+                hit.getScore() != null ? hit.getScore() : 0.0);
+    }
 }
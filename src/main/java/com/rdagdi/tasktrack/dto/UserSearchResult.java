@@ -0,0 +1,17 @@
+package com.rdagdi.tasktrack.dto;
+
+import com.rdagdi.tasktrack.entity.User;
+
+/**
+ * One ranked hit of the full-name search.
+ * {@code score} is the trigram word similarity (0 to 1, higher is closer).
+ */
+public record UserSearchResult(
+        Long id,
+        String userName,
+        String email,
+        String fullName,
+        User.Role role,
+        Boolean active,
+        double score) {
+}
@@ -0,0 +1,39 @@
+package com.rdagdi.tasktrack.dto;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import com.rdagdi.tasktrack.entity.User;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO for the user statistics dashboard.
+ * Counts by role and active status; {@code refreshedAt} is when the
+ * counts were last recomputed in the database (deltas are applied since).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserStats {
+
+    private long total;
+    private long active;
+    private long inactive;
+    private Map<User.Role, RoleCount> byRole;
+    private LocalDateTime refreshedAt;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RoleCount {
+
+        private long active;
+        private long inactive;
+    }
+}
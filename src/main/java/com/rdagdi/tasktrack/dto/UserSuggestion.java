@@ -0,0 +1,11 @@
+package com.rdagdi.tasktrack.dto;
+
+/**
+ * Lightweight typeahead entry for the mention/assignee picker.
+ */
+public record UserSuggestion(
+        Long id,
+        String userName,
+        String email,
+        String fullName) {
+}
@@ -0,0 +1,23 @@
+package com.rdagdi.tasktrack.dto;
+
+import java.time.LocalDateTime;
+
+import com.rdagdi.tasktrack.entity.User;
+
+/**
+ * Immutable read-only projection of a user.
+ * Selected straight from the database by constructor expression, so list
+ * endpoints skip entity hydration, the persistence context snapshot and the
+ * entity-to-DTO copy. Serializes to the same JSON shape as UserDTO.
+ */
+public record UserView(
+        Long id,
+        String userName,
+        String email,
+        String fullName,
+        User.Role role,
+        Boolean active,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        long version) {
+}
@@ -1,8 +1,10 @@
 package com.rdagdi.tasktrack.entity;
 
 import java.time.LocalDateTime;
+import java.util.Locale;
 
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import jakarta.persistence.*;
@@ -11,20 +13,30 @@ import lombok.Data;
 
 @Data
 @Entity
+@DynamicUpdate
+// Schema and indexes are managed by the Flyway migrations in db/migration
 @Table(name = "users")
 public class User {
 
+    // Names of the case-insensitive unique indexes on lower(user_name) / lower(email),
+    // used to map unique violations back to the clashing field
+    public static final String UNIQUE_USER_NAME = "uk_users_user_name";
+    public static final String UNIQUE_EMAIL = "uk_users_email";
+
+    // Sequence ids (pooled optimizer, 50 per round trip) keep JDBC insert batching
+    // enabled; IDENTITY would force one INSERT round trip per row
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private long id;
 
     @NotBlank
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String userName;
 
     @NotBlank
     @Email
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String email;
 
     @NotBlank
@@ -48,6 +60,20 @@ public class User {
     @Column(nullable = false)
     private LocalDateTime updatedAt;
 
+    // Optimistic locking: every UPDATE runs "... WHERE id = ? AND version = ?" and
+    // bumps it, so concurrent edits are detected without holding row locks.
+    // Exposed to clients as the ETag of a user.
+    @Version
+    @Column(nullable = false)
+    private long version;
+
+    /**
+     * Case-insensitive lookup key for a username or email, matching lower() in the database
+     */
+    public static String lookupKey(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+
     // Enum for user roles
     public enum Role {
         ADMIN, PROJECT_MANAGER, DEVELOPER, TESTER
@@ -5,15 +5,25 @@ import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.TransactionTimedOutException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import com.rdagdi.tasktrack.dto.ErrorResponse;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 /**
  * Global exception handler for the TaskTrack application.
  * Provides consistent error responses across all controllers.
@@ -23,6 +33,12 @@ public class GlobalExceptionHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+    private final MeterRegistry meterRegistry;
+
+    public GlobalExceptionHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     /**
      * Handle UserNotFoundException - returns 404 Not Found
      */
@@ -31,6 +47,7 @@ public class GlobalExceptionHandler {
             UserNotFoundException ex, WebRequest request) {
 
         logger.warn("User not found: {}", ex.getMessage());
+        count("not_found", HttpStatus.NOT_FOUND);
 
         ErrorResponse error = ErrorResponse.of(
                 HttpStatus.NOT_FOUND.value(),
@@ -49,6 +66,7 @@ public class GlobalExceptionHandler {
             DuplicateUserException ex, WebRequest request) {
 
         logger.warn("Duplicate user conflict: {}", ex.getMessage());
+        count("duplicate", HttpStatus.CONFLICT);
 
         ErrorResponse error = ErrorResponse.of(
                 HttpStatus.CONFLICT.value(),
@@ -59,6 +77,143 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.CONFLICT);
     }
 
+    /**
+     * Handle PreconditionFailedException - returns 412 Precondition Failed
+     * The client's If-Match version is stale; it should re-read and retry.
+     */
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ErrorResponse> handlePreconditionFailedException(
+            PreconditionFailedException ex, WebRequest request) {
+
+        logger.warn("Precondition failed: {}", ex.getMessage());
+        count("precondition_failed", HttpStatus.PRECONDITION_FAILED);
+
+        ErrorResponse error = ErrorResponse.of(
+                HttpStatus.PRECONDITION_FAILED.value(),
+                "Precondition Failed",
+                ex.getMessage(),
+                getPath(request));
+
+        return new ResponseEntity<>(error, HttpStatus.PRECONDITION_FAILED);
+    }
+
+    /**
+     * Handle OptimisticLockingFailureException - returns 409 Conflict
+     * A concurrent update won the race (request sent without If-Match).
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailureException(
+            OptimisticLockingFailureException ex, WebRequest request) {
+
+        logger.warn("Concurrent modification: {}", ex.getMessage());
+        count("concurrent_modification", HttpStatus.CONFLICT);
+
+        ErrorResponse error = ErrorResponse.of(
+                HttpStatus.CONFLICT.value(),
+                "Conflict",
+                "The user was modified concurrently. Please reload and try again.",
+                getPath(request));
+
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Handle ServiceOverloadedException - returns 503 Service Unavailable
+     * Shed by the concurrency limiter before any work was done.
+     */
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ErrorResponse> handleServiceOverloadedException(
+            ServiceOverloadedException ex, WebRequest request) {
+
+        logger.debug("Request shed: {}", ex.getMessage());
+        count("overloaded", HttpStatus.SERVICE_UNAVAILABLE);
+
+        ErrorResponse error = ErrorResponse.of(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service Unavailable",
+                ex.getMessage(),
+                getPath(request));
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()))
+                .body(error);
+    }
+
+    /**
+     * Handle CannotCreateTransactionException - returns 503 Service Unavailable
+     * No database connection could be obtained in time (pool exhausted or database down).
+     */
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<ErrorResponse> handleCannotCreateTransactionException(
+            CannotCreateTransactionException ex, WebRequest request) {
+
+        logger.warn("Database unavailable: {}", ex.getMessage());
+        count("database_unavailable", HttpStatus.SERVICE_UNAVAILABLE);
+
+        ErrorResponse error = ErrorResponse.of(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service Unavailable",
+                "The database is temporarily unavailable. Please retry later.",
+                getPath(request));
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error);
+    }
+
+    /**
+     * Handle database timeouts - returns 503 Service Unavailable
+     * A statement or transaction ran out of time, usually because the database is overloaded.
+     */
+    @ExceptionHandler({ QueryTimeoutException.class, TransactionTimedOutException.class })
+    public ResponseEntity<ErrorResponse> handleDatabaseTimeout(
+            Exception ex, WebRequest request) {
+
+        logger.warn("Database timeout: {}", ex.getMessage());
+        count("database_timeout", HttpStatus.SERVICE_UNAVAILABLE);
+
+        ErrorResponse error = ErrorResponse.of(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service Unavailable",
+                "The database did not respond in time. Please retry later.",
+                getPath(request));
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error);
+    }
+
+    /**
+     * Handle malformed requests - returns 400 Bad Request
+     * Unparseable parameters (size=abc), missing required parameters and unreadable bodies.
+     */
+    @ExceptionHandler({ MethodArgumentTypeMismatchException.class,
+            MissingServletRequestParameterException.class,
+            HttpMessageNotReadableException.class })
+    public ResponseEntity<ErrorResponse> handleMalformedRequest(
+            Exception ex, WebRequest request) {
+
+        logger.warn("Malformed request: {}", ex.getMessage());
+        count("bad_request", HttpStatus.BAD_REQUEST);
+
+        // Parser messages can echo the body back, so only the parameter name is reported
+        String message = switch (ex) {
+            case MethodArgumentTypeMismatchException mismatch ->
+                    "Invalid value for parameter '" + mismatch.getName() + "'";
+            case MissingServletRequestParameterException missing ->
+                    "Required parameter '" + missing.getParameterName() + "' is missing";
+            default -> "Malformed request body";
+        };
+
+        ErrorResponse error = ErrorResponse.of(
+                HttpStatus.BAD_REQUEST.value(),
+                "Bad Request",
+                message,
+                getPath(request));
+
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
     /**
      * Handle validation errors - returns 400 Bad Request
      * Collects all field-level validation errors
@@ -68,6 +223,7 @@ public class GlobalExceptionHandler {
             MethodArgumentNotValidException ex, WebRequest request) {
 
         logger.warn("Validation failed: {}", ex.getMessage());
+        count("validation_failed", HttpStatus.BAD_REQUEST);
 
         Map<String, String> fieldErrors = new HashMap<>();
         ex.getBindingResult().getFieldErrors()
@@ -91,6 +247,7 @@ public class GlobalExceptionHandler {
             IllegalArgumentException ex, WebRequest request) {
 
         logger.warn("Illegal argument: {}", ex.getMessage());
+        count("bad_request", HttpStatus.BAD_REQUEST);
 
         ErrorResponse error = ErrorResponse.of(
                 HttpStatus.BAD_REQUEST.value(),
@@ -110,6 +267,7 @@ public class GlobalExceptionHandler {
             Exception ex, WebRequest request) {
 
         logger.error("Unexpected error occurred: ", ex);
+        count("internal_error", HttpStatus.INTERNAL_SERVER_ERROR);
 
         ErrorResponse error = ErrorResponse.of(
                 HttpStatus.INTERNAL_SERVER_ERROR.value(),
@@ -120,6 +278,17 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
+    /**
+     * Count a handled error as tasktrack.api.errors{outcome, status}
+     * Tags come from fixed values only, never from the request, to keep cardinality bounded.
+     */
+    private void count(String outcome, HttpStatus status) {
+        meterRegistry.counter("tasktrack.api.errors",
+                "outcome", outcome,
+                "status", Integer.toString(status.value()))
+                .increment();
+    }
+
     /**
      * Extract the request path from WebRequest
      */
@@ -0,0 +1,16 @@
+package com.rdagdi.tasktrack.exception;
+
+/**
+ * The If-Match version sent by the client is no longer the current one
+ * (someone else changed the user since it was read).
+ */
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(Long id, long expectedVersion, long currentVersion) {
+        super("User " + id + " was modified: If-Match version " + expectedVersion
+                + ", current version " + currentVersion);
+    }
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,19 @@
+package com.rdagdi.tasktrack.exception;
+
+/**
+ * The request was shed because too many similar requests are in flight.
+ * Clients should retry after the given number of seconds.
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceOverloadedException(String limiter, long retryAfterSeconds) {
+        super("Too many concurrent " + limiter + " requests. Please retry later.");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
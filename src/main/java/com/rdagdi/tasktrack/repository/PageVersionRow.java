@@ -0,0 +1,18 @@
+package com.rdagdi.tasktrack.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection summarizing one keyset page without loading its rows.
+ * Column aliases of the native page-version queries map onto these getters.
+ */
+public interface PageVersionRow {
+
+    LocalDateTime getLastModified();
+
+    Long getRows();
+
+    Long getLastId();
+
+    Boolean getHasNext();
+}
@@ -0,0 +1,9 @@
+package com.rdagdi.tasktrack.repository;
+
+import com.rdagdi.tasktrack.entity.User;
+
+/**
+ * Number of users for one (role, active) combination.
+ */
+public record RoleActiveCount(User.Role role, Boolean active, long count) {
+}
@@ -0,0 +1,18 @@
+package com.rdagdi.tasktrack.repository;
+
+import java.time.LocalDateTime;
+
+import com.rdagdi.tasktrack.entity.User;
+
+/**
+ * Projection for one (time bucket, role) row of the signup histogram.
+ * Column aliases of the native report query map onto these getters.
+ */
+public interface SignupBucketRow {
+
+    LocalDateTime getBucket();
+
+    User.Role getRole();
+
+    Long getCount();
+}
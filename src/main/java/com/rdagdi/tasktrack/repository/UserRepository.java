@@ -1,28 +1,66 @@
 package com.rdagdi.tasktrack.repository;
 
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import com.rdagdi.tasktrack.dto.UserView;
 import com.rdagdi.tasktrack.entity.User;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import jakarta.persistence.QueryHint;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
     // ========== Basic Finders ==========
 
-    // Find by unique fields (return Optional since they're unique)
-    Optional<User> findByUserName(String userName);
+    // Find by unique fields (return Optional since they're unique).
+    // Case-insensitive; lower(...) matches the unique indexes, so each is one index probe.
+    @Query("select u from User u where lower(u.userName) = lower(:userName)")
+    Optional<User> findByUserName(@Param("userName") String userName);
 
-    Optional<User> findByEmail(String email);
+    @Query("select u from User u where lower(u.email) = lower(:email)")
+    Optional<User> findByEmail(@Param("email") String email);
 
     // ========== Existence Checks ==========
 
-    // Check if username/email already exists (for validation)
-    boolean existsByUserName(String userName);
+    // Check if username/email already exists, ignoring case (for validation)
+    @Query("select case when count(u) > 0 then true else false end from User u "
+            + "where lower(u.userName) = lower(:userName)")
+    boolean existsByUserName(@Param("userName") String userName);
+
+    @Query("select case when count(u) > 0 then true else false end from User u "
+            + "where lower(u.email) = lower(:email)")
+    boolean existsByEmail(@Param("email") String email);
+
+    // Which of the given usernames/emails are taken (one IN query per list).
+    // Arguments and results are lower-cased lookup keys (see User.lookupKey).
+    @Query("select lower(u.userName) from User u where lower(u.userName) in :userNames")
+    List<String> findExistingUserNames(@Param("userNames") Collection<String> userNames);
+
+    @Query("select lower(u.email) from User u where lower(u.email) in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    // Existing users clashing with any of the given usernames or emails
+    // (one set-based query per batch instead of two exists queries per user).
+    // Arguments are lower-cased lookup keys.
+    @Query("select u from User u where lower(u.userName) in :userNames or lower(u.email) in :emails")
+    List<User> findByUserNameInOrEmailIn(@Param("userNames") Collection<String> userNames,
+            @Param("emails") Collection<String> emails);
 
-    boolean existsByEmail(String email);
+    // Every (userName, email) lookup key pair, streamed with a JDBC fetch size
+    // (used to build the availability Bloom filter; needs an open transaction)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select lower(u.userName), lower(u.email) from User u")
+    Stream<Object[]> streamAllIdentities();
 
     // ========== Query by Status & Role ==========
 
@@ -35,11 +73,99 @@ public interface UserRepository extends JpaRepository<User, Long> {
     // Find active users with specific role (combined query)
     List<User> findByActiveAndRole(Boolean active, User.Role role);
 
+    // ========== Single-Statement Updates ==========
+
+    // Flip the active flag and return the updated row in one round trip.
+    // Empty if the user does not exist or already has that active flag.
+    // Native, so the optimistic-lock version is bumped by hand.
+    @Query(value = "UPDATE users SET active = :active, updated_at = :now, version = version + 1 "
+            + "WHERE id = :id AND active <> :active RETURNING *",
+            nativeQuery = true)
+    Optional<User> updateActive(@Param("id") long id, @Param("active") boolean active,
+            @Param("now") LocalDateTime now);
+
+    // Same, but only if the row is still at the expected version (If-Match)
+    @Query(value = "UPDATE users SET active = :active, updated_at = :now, version = version + 1 "
+            + "WHERE id = :id AND active <> :active AND version = :version RETURNING *",
+            nativeQuery = true)
+    Optional<User> updateActiveAtVersion(@Param("id") long id, @Param("active") boolean active,
+            @Param("version") long version, @Param("now") LocalDateTime now);
+
+    // ========== Keyset Pagination (read-only projections) ==========
+
+    // Pages ordered by id, continuing after the last id of the previous page.
+    // Served by an index range scan, so cost depends on the page size only.
+    // Rows are selected straight into UserView records (no managed entities).
+    String USER_VIEW = "select new com.rdagdi.tasktrack.dto.UserView("
+            + "u.id, u.userName, u.email, u.fullName, u.role, u.active, u.createdAt, u.updatedAt, u.version) "
+            + "from User u ";
+
+    @Query(USER_VIEW + "where u.id > :afterId order by u.id")
+    List<UserView> findViewsAfter(@Param("afterId") long afterId, Limit limit);
+
+    @Query(USER_VIEW + "where u.active = :active and u.id > :afterId order by u.id")
+    List<UserView> findViewsByActiveAfter(@Param("active") Boolean active, @Param("afterId") long afterId,
+            Limit limit);
+
+    @Query(USER_VIEW + "where u.role = :role and u.id > :afterId order by u.id")
+    List<UserView> findViewsByRoleAfter(@Param("role") User.Role role, @Param("afterId") long afterId,
+            Limit limit);
+
+    // ========== Conditional GET Support ==========
+
+    // Version and last-modified time only, to answer If-None-Match without loading the user
+    @Query("select new com.rdagdi.tasktrack.repository.UserVersion(u.version, u.updatedAt) "
+            + "from User u where u.id = :id")
+    Optional<UserVersion> findVersionById(@Param("id") long id);
+
+    // Summary of the keyset page after :afterId with :size rows (see PageVersion).
+    // Reads only id/updated_at of the size + 1 rows the page query would read.
+    String PAGE_VERSION_SELECT = """
+            SELECT max(updated_at) FILTER (WHERE rn <= :size) AS "lastModified",
+                   count(*) FILTER (WHERE rn <= :size) AS "rows",
+                   max(id) FILTER (WHERE rn <= :size) AS "lastId",
+                   count(*) > :size AS "hasNext"
+            FROM (SELECT id, updated_at, row_number() OVER (ORDER BY id) AS rn
+                  FROM (SELECT id, updated_at FROM users
+            """;
+    String PAGE_VERSION_END = " ORDER BY id LIMIT :size + 1) w) page";
+
+    @Query(value = PAGE_VERSION_SELECT + "WHERE id > :afterId" + PAGE_VERSION_END, nativeQuery = true)
+    PageVersionRow findPageVersionAfter(@Param("afterId") long afterId, @Param("size") int size);
+
+    @Query(value = PAGE_VERSION_SELECT + "WHERE active = :active AND id > :afterId" + PAGE_VERSION_END,
+            nativeQuery = true)
+    PageVersionRow findPageVersionByActiveAfter(@Param("active") boolean active, @Param("afterId") long afterId,
+            @Param("size") int size);
+
+    @Query(value = PAGE_VERSION_SELECT + "WHERE role = :role AND id > :afterId" + PAGE_VERSION_END,
+            nativeQuery = true)
+    PageVersionRow findPageVersionByRoleAfter(@Param("role") String role, @Param("afterId") long afterId,
+            @Param("size") int size);
+
+    // All active users, streamed (loads the typeahead index; needs an open transaction)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(USER_VIEW + "where u.active = true")
+    Stream<UserView> streamActiveViews();
+
     // ========== Search & Filtering ==========
 
     // Find users by partial name match (useful for search)
+    // Unindexed '%x%' scan with no ranking or limit; prefer searchByFullName
     List<User> findByFullNameContainingIgnoreCase(String name);
 
+    // Fuzzy full-name search ranked by trigram word similarity, top-K only.
+    // '<%' is served by the pg_trgm GIN index idx_users_full_name_trgm.
+    @Query(value = """
+            SELECT id, user_name AS "userName", email, full_name AS "fullName", role, active,
+                   word_similarity(:q, full_name) AS score
+            FROM users
+            WHERE :q <% full_name
+            ORDER BY score DESC, id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<UserSearchHit> searchByFullName(@Param("q") String query, @Param("limit") int limit);
+
     // ========== Date Range Queries ==========
 
     // Find users created within a date range (for reports)
@@ -48,6 +174,18 @@ public interface UserRepository extends JpaRepository<User, Long> {
     // Find recently created users
     List<User> findByCreatedAtAfter(LocalDateTime since);
 
+    // Signups per date_trunc bucket ('hour', 'day', 'week') and role in [from, to).
+    // Range scan on idx_users_created_at; only the aggregated rows leave the database.
+    @Query(value = """
+            SELECT date_trunc(:unit, created_at) AS bucket, role, count(*) AS count
+            FROM users
+            WHERE created_at >= :from AND created_at < :to
+            GROUP BY 1, 2
+            ORDER BY 1, 2
+            """, nativeQuery = true)
+    List<SignupBucketRow> countSignupsByBucketAndRole(@Param("unit") String unit,
+            @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
     // ========== Analytics/Stats ==========
 
     // Count users by role (for dashboard)
@@ -55,4 +193,9 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     // Count active users
     long countByActive(Boolean active);
+
+    // Counts for every (role, active) combination in one GROUP BY query
+    @Query("select new com.rdagdi.tasktrack.repository.RoleActiveCount(u.role, u.active, count(u)) "
+            + "from User u group by u.role, u.active")
+    List<RoleActiveCount> countGroupedByRoleAndActive();
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.rdagdi.tasktrack.repository;
+
+import com.rdagdi.tasktrack.entity.User;
+
+/**
+ * Projection for ranked full-name search results.
+ * Column aliases of the native search query map onto these getters.
+ */
+public interface UserSearchHit {
+
+    Long getId();
+
+    String getUserName();
+
+    String getEmail();
+
+    String getFullName();
+
+    User.Role getRole();
+
+    Boolean getActive();
+
+    Double getScore();
+}
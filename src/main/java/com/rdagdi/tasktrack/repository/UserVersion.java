@@ -0,0 +1,10 @@
+package com.rdagdi.tasktrack.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Version and last modification time of one user, for conditional GETs
+ * (enough to answer 304 without loading the entity).
+ */
+public record UserVersion(long version, LocalDateTime updatedAt) {
+}
@@ -0,0 +1,29 @@
+package com.rdagdi.tasktrack.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers updates of in-memory state (stats, availability filter, suggestion
+ * index) until the surrounding transaction commits, so a rollback leaves no
+ * trace in them. Outside a transaction the action runs immediately.
+ */
+final class AfterCommit {
+
+    // Private constructor to prevent instantiation
+    private AfterCommit() {
+    }
+
+    static void run(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.rdagdi.tasktrack.service;
+
+import com.rdagdi.tasktrack.entity.User;
+
+/**
+ * Outcome of one item in a bulk create request.
+ * Either {@code user} is set (created) or {@code error} explains why the item was skipped.
+ *
+ * @param index Position of the item in the request
+ * @param user  The created user, or null if the item failed
+ * @param error The failure reason, or null if the item was created
+ */
+public record BatchCreateResult(int index, User user, String error) {
+
+    public static BatchCreateResult created(int index, User user) {
+        return new BatchCreateResult(index, user, null);
+    }
+
+    public static BatchCreateResult duplicate(int index, String error) {
+        return new BatchCreateResult(index, null, error);
+    }
+
+    public boolean isCreated() {
+        return user != null;
+    }
+}
@@ -0,0 +1,49 @@
+package com.rdagdi.tasktrack.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes and decodes the opaque cursor tokens used for keyset pagination.
+ * The token wraps the id of the last row on the previous page, so the next
+ * page is a simple "id > ?" index range scan regardless of table size.
+ */
+final class KeysetCursor {
+
+    private static final String PREFIX = "id:";
+
+    // Private constructor to prevent instantiation
+    private KeysetCursor() {
+    }
+
+    /**
+     * Encode the id of the last returned row into a cursor token
+     */
+    static String encode(long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor token back into the id to continue after.
+     * A missing cursor starts from the beginning.
+     *
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return Long.parseLong(raw.substring(PREFIX.length()));
+        } catch (IllegalArgumentException ex) {
+            // NumberFormatException and Base64 errors are both IllegalArgumentExceptions
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.rdagdi.tasktrack.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Memory-compact prefix trie mapping string keys to values.
+ *
+ * Each node keeps its child labels in a sorted char array (binary search)
+ * instead of a hash map, and only allocates a value list when a key ends
+ * there. Prefix lookups walk the prefix once and then visit keys in
+ * lexicographic order until the limit is reached, so cost depends on the
+ * prefix length and the limit, not on the number of keys.
+ *
+ * Not thread-safe; callers synchronise access.
+ */
+public class PrefixTrie<V> {
+
+    private static final char[] NO_KEYS = new char[0];
+
+    private final Node<V> root = new Node<>();
+
+    public void put(String key, V value) {
+        Node<V> node = root;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.childOrCreate(key.charAt(i));
+        }
+        if (node.values == null) {
+            node.values = new ArrayList<>(1);
+        }
+        if (!node.values.contains(value)) {
+            node.values.add(value);
+        }
+    }
+
+    /**
+     * Remove one value stored under the key, pruning nodes left empty
+     *
+     * @return true if the value was present
+     */
+    public boolean remove(String key, V value) {
+        return remove(root, key, 0, value);
+    }
+
+    /**
+     * Distinct values whose key starts with the prefix, in key order
+     */
+    public List<V> findByPrefix(String prefix, int limit) {
+        Node<V> node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.child(prefix.charAt(i));
+        }
+
+        Set<V> results = new LinkedHashSet<>();
+        if (node != null && limit > 0) {
+            collect(node, results, limit);
+        }
+        return new ArrayList<>(results);
+    }
+
+    private boolean remove(Node<V> node, String key, int depth, V value) {
+        if (depth == key.length()) {
+            boolean removed = node.values != null && node.values.remove(value);
+            if (node.values != null && node.values.isEmpty()) {
+                node.values = null;
+            }
+            return removed;
+        }
+
+        char label = key.charAt(depth);
+        Node<V> child = node.child(label);
+        if (child == null) {
+            return false;
+        }
+
+        boolean removed = remove(child, key, depth + 1, value);
+        if (child.isEmpty()) {
+            node.removeChild(label);
+        }
+        return removed;
+    }
+
+    private boolean collect(Node<V> node, Set<V> results, int limit) {
+        if (node.values != null) {
+            for (V value : node.values) {
+                results.add(value);
+                if (results.size() >= limit) {
+                    return true;
+                }
+            }
+        }
+        for (int i = 0; i < node.keys.length; i++) {
+            if (collect(node.children[i], results, limit)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Node<V> {
+
+        private char[] keys = NO_KEYS;
+        private Node<V>[] children;
+        private List<V> values;
+
+        Node<V> child(char label) {
+            int index = Arrays.binarySearch(keys, label);
+            return index >= 0 ? children[index] : null;
+        }
+
+        @SuppressWarnings("unchecked")
+        Node<V> childOrCreate(char label) {
+            int index = Arrays.binarySearch(keys, label);
+            if (index >= 0) {
+                return children[index];
+            }
+
+            int insertAt = -index - 1;
+            Node<V> child = new Node<>();
+            char[] newKeys = new char[keys.length + 1];
+            Node<V>[] newChildren = new Node[keys.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, insertAt);
+            System.arraycopy(keys, insertAt, newKeys, insertAt + 1, keys.length - insertAt);
+            if (children != null) {
+                System.arraycopy(children, 0, newChildren, 0, insertAt);
+                System.arraycopy(children, insertAt, newChildren, insertAt + 1, keys.length - insertAt);
+            }
+            newKeys[insertAt] = label;
+            newChildren[insertAt] = child;
+            keys = newKeys;
+            children = newChildren;
+            return child;
+        }
+
+        @SuppressWarnings("unchecked")
+        void removeChild(char label) {
+            int index = Arrays.binarySearch(keys, label);
+            if (index < 0) {
+                return;
+            }
+            if (keys.length == 1) {
+                keys = NO_KEYS;
+                children = null;
+                return;
+            }
+
+            char[] newKeys = new char[keys.length - 1];
+            Node<V>[] newChildren = new Node[keys.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(keys, index + 1, newKeys, index, keys.length - index - 1);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(children, index + 1, newChildren, index, keys.length - index - 1);
+            keys = newKeys;
+            children = newChildren;
+        }
+
+        boolean isEmpty() {
+            return values == null && keys.length == 0;
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.rdagdi.tasktrack.service;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.rdagdi.tasktrack.dto.SignupReport;
+import com.rdagdi.tasktrack.entity.User;
+import com.rdagdi.tasktrack.repository.SignupBucketRow;
+import com.rdagdi.tasktrack.repository.UserRepository;
+
+/**
+ * Signup histograms (users created per hour, day or week, optionally per role).
+ *
+ * Bucketing and counting happen in the database with date_trunc / GROUP BY,
+ * so only one row per bucket and role is transferred. Buckets that have
+ * already closed cannot gain signups, so their per-role counts are cached;
+ * a repeated dashboard load only queries the current (open) bucket plus any
+ * closed buckets it has not seen before.
+ *
+ * A bucket only counts as closed once its end is older than the cache grace
+ * period: created_at is set by the application clock before commit, so a
+ * transaction in flight (or a replica still catching up) can add a signup to
+ * a bucket that has just ended.
+ */
+@Service
+public class SignupReportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SignupReportService.class);
+
+    private static final User.Role[] ROLES = User.Role.values();
+
+    public enum Granularity {
+        HOUR("hour"), DAY("day"), WEEK("week");
+
+        private final String unit;
+
+        Granularity(String unit) {
+            this.unit = unit;
+        }
+
+        /**
+         * Start of the bucket containing the given time (same result as date_trunc)
+         */
+        LocalDateTime truncate(LocalDateTime time) {
+            return switch (this) {
+                case HOUR -> time.truncatedTo(ChronoUnit.HOURS);
+                case DAY -> time.truncatedTo(ChronoUnit.DAYS);
+                // date_trunc('week') starts weeks on Monday (ISO 8601)
+                case WEEK -> time.truncatedTo(ChronoUnit.DAYS)
+                        .with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            };
+        }
+
+        LocalDateTime next(LocalDateTime bucketStart) {
+            return switch (this) {
+                case HOUR -> bucketStart.plusHours(1);
+                case DAY -> bucketStart.plusDays(1);
+                case WEEK -> bucketStart.plusWeeks(1);
+            };
+        }
+
+        ChronoUnit chronoUnit() {
+            return switch (this) {
+                case HOUR -> ChronoUnit.HOURS;
+                case DAY -> ChronoUnit.DAYS;
+                case WEEK -> ChronoUnit.WEEKS;
+            };
+        }
+    }
+
+    private record BucketKey(Granularity granularity, LocalDateTime start) {
+    }
+
+    private final UserRepository userRepository;
+    private final int maxBuckets;
+    private final Duration cacheGrace;
+
+    // Per-role signup counts of closed buckets, indexed by Role.ordinal()
+    private final Cache<BucketKey, long[]> closedBuckets;
+
+    public SignupReportService(UserRepository userRepository,
+            @Value("${tasktrack.reports.signups.max-buckets:10000}") int maxBuckets,
+            @Value("${tasktrack.reports.signups.cache-size:50000}") long cacheSize,
+            @Value("${tasktrack.reports.signups.cache-grace:5m}") Duration cacheGrace) {
+        this.userRepository = userRepository;
+        this.maxBuckets = maxBuckets;
+        this.cacheGrace = cacheGrace;
+        this.closedBuckets = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .build();
+    }
+
+    /**
+     * Signup counts per bucket for [from, to), widened to whole buckets
+     *
+     * @param granularity Bucket size
+     * @param from        Start of the range (inclusive)
+     * @param to          End of the range (exclusive)
+     * @param byRole      Whether to split each bucket by role
+     * @return Every bucket in the range, oldest first, including empty ones
+     * @throws IllegalArgumentException if the range is empty or has too many buckets
+     */
+    @Transactional(readOnly = true)
+    public SignupReport getSignupReport(Granularity granularity, LocalDateTime from,
+            LocalDateTime to, boolean byRole) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+
+        LocalDateTime start = granularity.truncate(from);
+        LocalDateTime end = granularity.truncate(to);
+        if (end.isBefore(to)) {
+            end = granularity.next(end);
+        }
+        long bucketCount = granularity.chronoUnit().between(start, end);
+        if (bucketCount > maxBuckets) {
+            throw new IllegalArgumentException(
+                    "Report would have " + bucketCount + " buckets, maximum is " + maxBuckets);
+        }
+
+        Map<LocalDateTime, long[]> counts = new HashMap<>();
+        // Buckets starting before this one ended at least cacheGrace ago
+        LocalDateTime settled = granularity.truncate(LocalDateTime.now().minus(cacheGrace));
+        LocalDateTime closedEnd = end.isBefore(settled) ? end : settled;
+
+        // Closed buckets: serve from the cache, query the span of the missing ones once
+        LocalDateTime firstMissing = null;
+        LocalDateTime lastMissing = null;
+        for (LocalDateTime bucket = start; bucket.isBefore(closedEnd); bucket = granularity.next(bucket)) {
+            long[] cached = closedBuckets.getIfPresent(new BucketKey(granularity, bucket));
+            if (cached != null) {
+                counts.put(bucket, cached);
+            } else {
+                if (firstMissing == null) {
+                    firstMissing = bucket;
+                }
+                lastMissing = bucket;
+            }
+        }
+        if (firstMissing != null) {
+            LocalDateTime missingEnd = granularity.next(lastMissing);
+            Map<LocalDateTime, long[]> loaded = load(granularity, firstMissing, missingEnd);
+            for (LocalDateTime bucket = firstMissing; bucket.isBefore(missingEnd); bucket = granularity.next(bucket)) {
+                long[] roleCounts = loaded.getOrDefault(bucket, new long[ROLES.length]);
+                closedBuckets.put(new BucketKey(granularity, bucket), roleCounts);
+                counts.putIfAbsent(bucket, roleCounts);
+            }
+        }
+
+        // Current, recently closed and future buckets: always recompute, never cache
+        if (closedEnd.isBefore(end)) {
+            counts.putAll(load(granularity, closedEnd.isBefore(start) ? start : closedEnd, end));
+        }
+
+        List<SignupReport.Bucket> buckets = new ArrayList<>((int) bucketCount);
+        long total = 0;
+        for (LocalDateTime bucket = start; bucket.isBefore(end); bucket = granularity.next(bucket)) {
+            long[] roleCounts = counts.getOrDefault(bucket, new long[ROLES.length]);
+            long count = 0;
+            Map<User.Role, Long> perRole = byRole ? new EnumMap<>(User.Role.class) : null;
+            for (User.Role role : ROLES) {
+                count += roleCounts[role.ordinal()];
+                if (perRole != null) {
+                    perRole.put(role, roleCounts[role.ordinal()]);
+                }
+            }
+            total += count;
+            buckets.add(new SignupReport.Bucket(bucket, count, perRole));
+        }
+
+        return SignupReport.builder()
+                .granularity(granularity.name())
+                .from(start)
+                .to(end)
+                .total(total)
+                .buckets(buckets)
+                .build();
+    }
+
+    /**
+     * Drop all cached buckets
+     * Needed when users are hard-deleted, since that lowers closed-bucket counts.
+     * Inside a transaction the cache is cleared again after commit.
+     */
+    public void invalidate() {
+        closedBuckets.invalidateAll();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    closedBuckets.invalidateAll();
+                }
+            });
+        }
+    }
+
+    private Map<LocalDateTime, long[]> load(Granularity granularity, LocalDateTime from, LocalDateTime to) {
+        logger.debug("Counting signups per {} in [{}, {})", granularity.unit, from, to);
+
+        Map<LocalDateTime, long[]> counts = new HashMap<>();
+        for (SignupBucketRow row : userRepository.countSignupsByBucketAndRole(granularity.unit, from, to)) {
+            if (row.getRole() != null) {
+                counts.computeIfAbsent(row.getBucket(), bucket -> new long[ROLES.length])
+                        [row.getRole().ordinal()] += row.getCount();
+            }
+        }
+        return counts;
+    }
+}
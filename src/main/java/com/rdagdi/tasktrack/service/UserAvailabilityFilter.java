@@ -0,0 +1,190 @@
+package com.rdagdi.tasktrack.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.rdagdi.tasktrack.entity.User;
+import com.rdagdi.tasktrack.repository.UserRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Bloom filter front for username/email availability checks.
+ *
+ * Holds every existing username and email. A "not present" answer means the
+ * value is definitely available and no query is needed; only possible hits
+ * fall back to the database. Bloom filters cannot forget values, so renamed
+ * and hard-deleted users leave stale bits behind. Those only cost a database
+ * fallback, and the filter is rebuilt once enough of them accumulate.
+ * Until the first build completes every check goes to the database.
+ *
+ * Writes are applied once their transaction commits. A rebuild publishes
+ * its filter under construction before it starts reading, so every
+ * committed write lands either in the rows it reads or in that filter.
+ */
+@Component
+public class UserAvailabilityFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserAvailabilityFilter.class);
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate primaryTransaction;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final long rebuildAfterStale;
+
+    private volatile Filters current;
+    private volatile Filters building;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final AtomicLong staleEntries = new AtomicLong();
+
+    private final Counter userNameAvoided;
+    private final Counter userNameQueried;
+    private final Counter emailAvoided;
+    private final Counter emailQueried;
+
+    public UserAvailabilityFilter(UserRepository userRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${tasktrack.availability-filter.expected-insertions:1000000}") long expectedInsertions,
+            @Value("${tasktrack.availability-filter.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${tasktrack.availability-filter.rebuild-after-stale:10000}") long rebuildAfterStale) {
+        this.userRepository = userRepository;
+        // Deliberately not read-only: replica routing sends read-only transactions
+        // to a replica, which may not have the latest writes yet
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.rebuildAfterStale = rebuildAfterStale;
+
+        this.userNameAvoided = counter(meterRegistry, "username", "avoided");
+        this.userNameQueried = counter(meterRegistry, "username", "queried");
+        this.emailAvoided = counter(meterRegistry, "email", "avoided");
+        this.emailQueried = counter(meterRegistry, "email", "queried");
+    }
+
+    /**
+     * @return false only if the username is definitely not taken
+     */
+    public boolean mightContainUserName(String userName) {
+        Filters filters = current;
+        boolean mightContain = filters == null || filters.userNames.mightContain(User.lookupKey(userName));
+        (mightContain ? userNameQueried : userNameAvoided).increment();
+        return mightContain;
+    }
+
+    /**
+     * @return false only if the email is definitely not taken
+     */
+    public boolean mightContainEmail(String email) {
+        Filters filters = current;
+        boolean mightContain = filters == null || filters.emails.mightContain(User.lookupKey(email));
+        (mightContain ? emailQueried : emailAvoided).increment();
+        return mightContain;
+    }
+
+    /**
+     * Record the username and email of a created or updated user, once committed
+     */
+    public void add(User user) {
+        String userName = user.getUserName();
+        String email = user.getEmail();
+        AfterCommit.run(() -> {
+            add(current, userName, email);
+            // Writes during a rebuild must also land in the filter being built
+            add(building, userName, email);
+        });
+    }
+
+    /**
+     * Record that a username/email was released (rename or hard delete), once committed.
+     * The bits stay set; a rebuild is triggered once enough have accumulated.
+     */
+    public void markStale() {
+        AfterCommit.run(() -> {
+            if (staleEntries.incrementAndGet() == rebuildAfterStale) {
+                CompletableFuture.runAsync(this::rebuild);
+            }
+        });
+    }
+
+    /**
+     * Build a fresh filter from every username and email in the database
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            long start = System.currentTimeMillis();
+            Filters filters = new Filters(expectedInsertions, falsePositiveRate);
+            // Published before the read starts: a write committed after this point
+            // goes into filters via add(); one committed before is in the rows read
+            building = filters;
+            staleEntries.set(0);
+
+            long count = primaryTransaction.execute(status -> {
+                long rows = 0;
+                try (Stream<Object[]> identities = userRepository.streamAllIdentities()) {
+                    for (Object[] identity : (Iterable<Object[]>) identities::iterator) {
+                        // Already lower-cased lookup keys
+                        filters.userNames.put((String) identity[0]);
+                        filters.emails.put((String) identity[1]);
+                        rows++;
+                    }
+                }
+                return rows;
+            });
+
+            current = filters;
+            logger.info("Availability filter built from {} users in {} ms ({} bits, {} hashes)",
+                    count, System.currentTimeMillis() - start, filters.userNames.bitSize(),
+                    filters.userNames.hashCount());
+        } catch (RuntimeException ex) {
+            logger.error("Failed to build availability filter, falling back to database checks", ex);
+        } finally {
+            building = null;
+            rebuilding.set(false);
+        }
+    }
+
+    private static void add(Filters filters, String userName, String email) {
+        if (filters != null) {
+            filters.userNames.put(User.lookupKey(userName));
+            filters.emails.put(User.lookupKey(email));
+        }
+    }
+
+    private static Counter counter(MeterRegistry registry, String field, String result) {
+        return Counter.builder("tasktrack.availability.checks")
+                .description("Availability checks answered by the Bloom filter (avoided) or the database (queried)")
+                .tag("field", field)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private static final class Filters {
+
+        private final BloomFilter userNames;
+        private final BloomFilter emails;
+
+        private Filters(long expectedInsertions, double falsePositiveRate) {
+            this.userNames = new BloomFilter(expectedInsertions, falsePositiveRate);
+            this.emails = new BloomFilter(expectedInsertions, falsePositiveRate);
+        }
+    }
+}
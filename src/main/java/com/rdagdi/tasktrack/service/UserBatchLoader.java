@@ -0,0 +1,159 @@
+package com.rdagdi.tasktrack.service;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.rdagdi.tasktrack.config.RequestSqlStats;
+import com.rdagdi.tasktrack.entity.User;
+import com.rdagdi.tasktrack.repository.UserRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * DataLoader-style batcher for lookups by id.
+ *
+ * Concurrent {@link #load} calls arriving within a short window are merged
+ * into one {@code findAllById} (a single IN query) and the results are
+ * fanned back out to the waiting callers. A batch is sent early once it
+ * reaches the maximum size. A zero window turns coalescing off.
+ *
+ * Loaded users go into the UserCache, so they are always read from the
+ * primary, never from a replica that may still lag behind a committed write.
+ *
+ * The batch query runs on a loader thread, so it is measured there and added
+ * to the {@link RequestSqlStats} of each waiting request. Callers waiting on
+ * the same id each get their own copy of the user, so one request's changes
+ * can never show up in another's.
+ */
+@Component
+public class UserBatchLoader {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserBatchLoader.class);
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate primaryTransaction;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService scheduler;
+
+    private final Object lock = new Object();
+    private Map<Long, CompletableFuture<Loaded>> pending = new HashMap<>();
+
+    public UserBatchLoader(UserRepository userRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${tasktrack.users.batch-loader.window:2ms}") Duration window,
+            @Value("${tasktrack.users.batch-loader.max-batch-size:200}") int maxBatchSize) {
+        this.userRepository = userRepository;
+        // Deliberately not read-only: replica routing sends read-only transactions
+        // to a replica, which may not have the latest writes yet
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.scheduler = Executors.newScheduledThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "user-batch-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Load a user by id, sharing the query with concurrent callers
+     *
+     * @param id The user ID
+     * @return The user, or empty if it does not exist
+     */
+    public Optional<User> load(Long id) {
+        if (windowNanos <= 0) {
+            return primaryTransaction.execute(status -> userRepository.findById(id));
+        }
+
+        CompletableFuture<Loaded> future;
+        boolean firstInBatch;
+        boolean batchFull;
+        synchronized (lock) {
+            future = pending.computeIfAbsent(id, key -> new CompletableFuture<>());
+            firstInBatch = pending.size() == 1;
+            batchFull = pending.size() >= maxBatchSize;
+        }
+
+        if (batchFull) {
+            flush();
+        } else if (firstInBatch) {
+            scheduler.schedule(this::flush, windowNanos, TimeUnit.NANOSECONDS);
+        }
+
+        try {
+            Loaded loaded = future.join();
+            RequestSqlStats stats = RequestSqlStats.current();
+            if (stats != null) {
+                stats.include(loaded.sql());
+            }
+            return loaded.user().map(UserCache::copyOf);
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Send all pending ids as one query and complete their futures
+     */
+    void flush() {
+        Map<Long, CompletableFuture<Loaded>> batch;
+        synchronized (lock) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new HashMap<>();
+        }
+
+        // Measured separately even when a caller thread flushes a full batch,
+        // since every waiter (that caller included) adds the query to its own stats
+        RequestSqlStats callerStats = RequestSqlStats.current();
+        RequestSqlStats sql = RequestSqlStats.begin();
+        try {
+            List<User> users;
+            try {
+                users = primaryTransaction.execute(status -> userRepository.findAllById(batch.keySet()));
+            } finally {
+                RequestSqlStats.restore(callerStats);
+            }
+            Map<Long, User> byId = users.stream()
+                    .collect(Collectors.toMap(User::getId, Function.identity()));
+            logger.debug("Loaded batch of {} user ids ({} found)", batch.size(), users.size());
+
+            batch.forEach((id, future) -> future.complete(new Loaded(Optional.ofNullable(byId.get(id)), sql)));
+        } catch (RuntimeException ex) {
+            batch.values().forEach(future -> future.completeExceptionally(ex));
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdown();
+    }
+
+    // Result for one id, with the statements of the batch that loaded it
+    private record Loaded(Optional<User> user, RequestSqlStats sql) {
+    }
+}
@@ -0,0 +1,166 @@
+package com.rdagdi.tasktrack.service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.rdagdi.tasktrack.entity.User;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * In-process read-through cache for single-user lookups.
+ *
+ * Users are stored once, keyed by id, in a size-bounded Caffeine cache
+ * (W-TinyLFU eviction, TTL after write). Username and email are secondary
+ * indexes pointing at the id, so one load serves all three lookups; they are
+ * keyed by lower-cased lookup key, like the database lookups.
+ * Entries are copied on the way in and out, so callers can never mutate
+ * a cached user. Hit/miss/eviction stats are published as "cache.*" metrics
+ * with tag cache=users.
+ *
+ * Only rows read from the primary are cached: with replica routing a cached
+ * replica row could outlive the replica's lag by the whole TTL and undo
+ * read-your-writes. Writes evict with the version they committed, and a put never stores a
+ * version older than that (or than the entry it would replace), so a reader
+ * that loaded a row before a write committed cannot re-cache it afterwards.
+ */
+@Component
+public class UserCache {
+
+    private final Cache<Long, User> byId;
+    // Lowest version a put may store per recently written id; kept as long as entries
+    private final Cache<Long, Long> minVersions;
+    private final Map<String, Long> idByUserName = new ConcurrentHashMap<>();
+    private final Map<String, Long> idByEmail = new ConcurrentHashMap<>();
+
+    public UserCache(MeterRegistry meterRegistry,
+            @Value("${tasktrack.cache.users.maximum-size:10000}") long maximumSize,
+            @Value("${tasktrack.cache.users.ttl:10m}") Duration ttl) {
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .executor(Runnable::run)
+                .removalListener((Long id, User user, RemovalCause cause) -> {
+                    // Replacements re-index in put(); only drop keys for evicted/removed entries
+                    if (user != null && cause != RemovalCause.REPLACED) {
+                        idByUserName.remove(User.lookupKey(user.getUserName()), id);
+                        idByEmail.remove(User.lookupKey(user.getEmail()), id);
+                    }
+                })
+                .build();
+        this.minVersions = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .executor(Runnable::run)
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "users");
+    }
+
+    public Optional<User> getById(Long id) {
+        return Optional.ofNullable(byId.getIfPresent(id)).map(UserCache::copyOf);
+    }
+
+    public Optional<User> getByUserName(String userName) {
+        return lookup(idByUserName, userName, User::getUserName);
+    }
+
+    public Optional<User> getByEmail(String email) {
+        return lookup(idByEmail, email, User::getEmail);
+    }
+
+    /**
+     * Cache a freshly loaded user under its id, username and email
+     * Ignored if the user is older than the cached entry or than the last
+     * committed write of it (see {@link #evict}).
+     */
+    public void put(User user) {
+        User copy = copyOf(user);
+        User[] previous = new User[1];
+        boolean[] stored = new boolean[1];
+        // Atomic per id with evict(), so a stale row cannot slip in between the check and the put
+        byId.asMap().compute(copy.getId(), (id, current) -> {
+            Long minVersion = minVersions.getIfPresent(id);
+            if ((minVersion != null && copy.getVersion() < minVersion)
+                    || (current != null && copy.getVersion() < current.getVersion())) {
+                return current;
+            }
+            previous[0] = current;
+            stored[0] = true;
+            return copy;
+        });
+        if (!stored[0]) {
+            return;
+        }
+
+        if (previous[0] != null) {
+            idByUserName.remove(User.lookupKey(previous[0].getUserName()), previous[0].getId());
+            idByEmail.remove(User.lookupKey(previous[0].getEmail()), previous[0].getId());
+        }
+        idByUserName.put(User.lookupKey(copy.getUserName()), copy.getId());
+        idByEmail.put(User.lookupKey(copy.getEmail()), copy.getId());
+    }
+
+    /**
+     * Drop a user from every index after a write
+     * Inside a transaction the entry is dropped again after commit, and from
+     * then on (for the cache TTL) rows older than the committed version are
+     * never cached, so a reader that loaded the pre-commit row cannot put it
+     * back. After a rollback the cached row is still current, so nothing else
+     * is needed.
+     *
+     * @param id               The user ID
+     * @param committedVersion Version written by the transaction
+     *                         ({@code Long.MAX_VALUE} for a deleted user)
+     */
+    public void evict(Long id, long committedVersion) {
+        byId.invalidate(id);
+
+        AfterCommit.run(() -> byId.asMap().compute(id, (key, current) -> {
+            minVersions.asMap().merge(key, committedVersion, Math::max);
+            return null;
+        }));
+    }
+
+    private Optional<User> lookup(Map<String, Long> index, String value,
+            Function<User, String> keyOf) {
+        String key = User.lookupKey(value);
+        Long id = index.get(key);
+        if (id == null) {
+            return Optional.empty();
+        }
+
+        User user = byId.getIfPresent(id);
+        if (user == null || !key.equals(User.lookupKey(keyOf.apply(user)))) {
+            // Stale secondary key (entry expired or the username/email changed)
+            index.remove(key, id);
+            return Optional.empty();
+        }
+        return Optional.of(copyOf(user));
+    }
+
+    // Detached copy of the persistent fields (also used by UserBatchLoader)
+    static User copyOf(User source) {
+        User copy = new User();
+        copy.setId(source.getId());
+        copy.setUserName(source.getUserName());
+        copy.setEmail(source.getEmail());
+        copy.setFullName(source.getFullName());
+        copy.setRole(source.getRole());
+        copy.setActive(source.getActive());
+        copy.setCreatedAt(source.getCreatedAt());
+        copy.setUpdatedAt(source.getUpdatedAt());
+        copy.setVersion(source.getVersion());
+        return copy;
+    }
+}
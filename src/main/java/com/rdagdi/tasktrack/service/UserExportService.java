@@ -0,0 +1,133 @@
+package com.rdagdi.tasktrack.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.AvailableHints;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.rdagdi.tasktrack.dto.UserMapper;
+import com.rdagdi.tasktrack.entity.User;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Streams the full user directory as NDJSON or CSV with constant memory.
+ *
+ * Rows are read through a forward-only database cursor (JDBC fetch size),
+ * detached from the persistence context as soon as they are written and
+ * flushed to the client in chunks, so heap usage does not grow with the
+ * number of exported users.
+ */
+@Service
+public class UserExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserExportService.class);
+
+    private static final String CSV_HEADER = "id,userName,email,fullName,role,active,createdAt,updatedAt\n";
+
+    public enum Format {
+        NDJSON, CSV
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Rows fetched from the database per round trip
+    @Value("${tasktrack.export.fetch-size:1000}")
+    private int fetchSize;
+
+    // Rows written between flushes to the client
+    @Value("${tasktrack.export.flush-every:1000}")
+    private int flushEvery;
+
+    /**
+     * Write every user, ordered by id, to the given stream
+     * The caller owns the stream and is responsible for closing it.
+     *
+     * @param format Output format
+     * @param out    Destination stream (usually the HTTP response body)
+     * @return Number of exported users
+     * @throws IOException if writing to the stream fails
+     */
+    @Transactional(readOnly = true)
+    public long exportUsers(Format format, OutputStream out) throws IOException {
+        logger.info("Starting {} export of users", format);
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == Format.CSV) {
+            writer.write(CSV_HEADER);
+        }
+
+        long count = 0;
+        try (Stream<User> users = entityManager
+                .createQuery("select u from User u order by u.id", User.class)
+                .setHint(AvailableHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(AvailableHints.HINT_READ_ONLY, true)
+                .getResultStream()) {
+
+            Iterator<User> iterator = users.iterator();
+            while (iterator.hasNext()) {
+                User user = iterator.next();
+                writer.write(format == Format.CSV ? toCsvLine(user) : toJsonLine(user));
+
+                // Keep the persistence context empty so memory stays flat
+                entityManager.detach(user);
+
+                if (++count % flushEvery == 0) {
+                    writer.flush();
+                }
+            }
+        }
+
+        writer.flush();
+        logger.info("Finished {} export of {} users", format, count);
+        return count;
+    }
+
+    private String toJsonLine(User user) {
+        return objectMapper.writeValueAsString(UserMapper.toDTO(user)) + "\n";
+    }
+
+    private String toCsvLine(User user) {
+        return String.join(",",
+                String.valueOf(user.getId()),
+                csv(user.getUserName()),
+                csv(user.getEmail()),
+                csv(user.getFullName()),
+                String.valueOf(user.getRole()),
+                String.valueOf(user.getActive()),
+                String.valueOf(user.getCreatedAt()),
+                String.valueOf(user.getUpdatedAt())) + "\n";
+    }
+
+    /**
+     * Quote a CSV field when it contains a separator, quote or line break (RFC 4180)
+     */
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
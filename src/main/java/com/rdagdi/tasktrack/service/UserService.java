@@ -1,31 +1,104 @@
 package com.rdagdi.tasktrack.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.rdagdi.tasktrack.repository.PageVersionRow;
 import com.rdagdi.tasktrack.repository.UserRepository;
+import com.rdagdi.tasktrack.repository.UserSearchHit;
+import com.rdagdi.tasktrack.repository.UserVersion;
+import com.rdagdi.tasktrack.dto.CursorPage;
+import com.rdagdi.tasktrack.dto.PageVersion;
+import com.rdagdi.tasktrack.dto.PatchUserRequest;
+import com.rdagdi.tasktrack.dto.UserMapper;
+import com.rdagdi.tasktrack.dto.UserStats;
+import com.rdagdi.tasktrack.dto.UserSuggestion;
+import com.rdagdi.tasktrack.dto.UserView;
 import com.rdagdi.tasktrack.entity.User;
 import com.rdagdi.tasktrack.exception.UserNotFoundException;
 import com.rdagdi.tasktrack.exception.DuplicateUserException;
-
+import com.rdagdi.tasktrack.exception.PreconditionFailedException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import io.micrometer.core.annotation.Timed;
 
+import org.hibernate.exception.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+// Every public method is timed as tasktrack.user.service{class, method, exception}
+@Timed(value = "tasktrack.user.service", description = "UserService calls")
 @Service
 public class UserService {
 
     private static final Logger logger = LoggerFactory.getLogger(UserService.class);
 
+    // Upper bound for a single page of a list endpoint
+    public static final int MAX_PAGE_SIZE = 500;
+
+    // Upper bound for ranked search results
+    public static final int MAX_SEARCH_RESULTS = 100;
+
+    // Upper bound for typeahead suggestions
+    public static final int MAX_SUGGESTIONS = 50;
+
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private UserAvailabilityFilter availabilityFilter;
+
+    @Autowired
+    private UserBatchLoader userBatchLoader;
+
+    @Autowired
+    private UserSuggestionIndex suggestionIndex;
+
+    @Autowired
+    private UserStatsCounter statsCounter;
+
+    @Autowired
+    private SignupReportService signupReportService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Rows per JDBC batch (and per uniqueness query) in createUsers
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
     // ========== CREATE ==========
 
     /**
-     * Create a new user with validation
-     * Validates: username uniqueness, email uniqueness
+     * Create a new user
+     * Uniqueness of username and email (ignoring case) is enforced by the database
+     * unique indexes, so this is a single INSERT round trip and concurrent creates
+     * cannot race.
      *
      * @param user The user to create
      * @return The created user
@@ -34,25 +107,102 @@ public class UserService {
     public User createUser(User user) {
         logger.info("Creating new user with username: {}", user.getUserName());
 
-        // Validate username uniqueness
-        if (userRepository.existsByUserName(user.getUserName())) {
-            logger.warn("Username already exists: {}", user.getUserName());
-            throw new DuplicateUserException("Username already exists: " + user.getUserName());
+        User savedUser;
+        try {
+            savedUser = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException ex) {
+            throw toDuplicateUserException(ex, user);
         }
 
-        // Validate email uniqueness
-        if (userRepository.existsByEmail(user.getEmail())) {
-            logger.warn("Email already exists: {}", user.getEmail());
-            throw new DuplicateUserException("Email already exists: " + user.getEmail());
-        }
+        availabilityFilter.add(savedUser);
+        suggestionIndex.index(savedUser);
+        statsCounter.created(savedUser.getRole(), savedUser.getActive());
 
-        // Save the user
-        User savedUser = userRepository.save(user);
         logger.info("User created successfully with ID: {}", savedUser.getId());
-
         return savedUser;
     }
 
+    /**
+     * Create many users at once using JDBC batching
+     * Uniqueness is checked with one set-based query per chunk (against the
+     * database and within the request itself) and the remaining users are
+     * inserted in JDBC batches of hibernate.jdbc.batch_size rows.
+     *
+     * @param users The users to create
+     * @return One result per input user, in input order
+     * @throws DuplicateUserException if a concurrent insert takes a username or email
+     *                                after the check; the whole batch is rolled back
+     */
+    @Transactional
+    public List<BatchCreateResult> createUsers(List<User> users) {
+        logger.info("Bulk creating {} users", users.size());
+        long startNanos = System.nanoTime();
+
+        int chunkSize = Math.max(1, batchSize);
+        BatchCreateResult[] results = new BatchCreateResult[users.size()];
+        // Lower-cased lookup keys, so clashes are detected case-insensitively
+        Set<String> requestedUserNames = new HashSet<>();
+        Set<String> requestedEmails = new HashSet<>();
+        int created = 0;
+
+        for (int from = 0; from < users.size(); from += chunkSize) {
+            List<User> chunk = users.subList(from, Math.min(from + chunkSize, users.size()));
+
+            // One query for all clashes in this chunk
+            Set<String> takenUserNames = new HashSet<>();
+            Set<String> takenEmails = new HashSet<>();
+            List<String> userNames = chunk.stream().map(user -> User.lookupKey(user.getUserName())).toList();
+            List<String> emails = chunk.stream().map(user -> User.lookupKey(user.getEmail())).toList();
+            for (User existing : userRepository.findByUserNameInOrEmailIn(userNames, emails)) {
+                takenUserNames.add(User.lookupKey(existing.getUserName()));
+                takenEmails.add(User.lookupKey(existing.getEmail()));
+            }
+
+            List<User> toInsert = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                User user = chunk.get(i);
+                int index = from + i;
+                String userNameKey = userNames.get(i);
+                String emailKey = emails.get(i);
+
+                if (takenUserNames.contains(userNameKey) || requestedUserNames.contains(userNameKey)) {
+                    results[index] = BatchCreateResult.duplicate(index,
+                            "Username already exists: " + user.getUserName());
+                } else if (takenEmails.contains(emailKey) || requestedEmails.contains(emailKey)) {
+                    results[index] = BatchCreateResult.duplicate(index,
+                            "Email already exists: " + user.getEmail());
+                } else {
+                    requestedUserNames.add(userNameKey);
+                    requestedEmails.add(emailKey);
+                    toInsert.add(user);
+                    results[index] = BatchCreateResult.created(index, user);
+                }
+            }
+
+            // Flush the chunk as JDBC batches and keep the persistence context small.
+            // Flushing through the repository translates a unique violation from a
+            // create racing the clash check into DataIntegrityViolationException.
+            try {
+                userRepository.saveAll(toInsert);
+                userRepository.flush();
+            } catch (DataIntegrityViolationException ex) {
+                throw toDuplicateUserException(ex, clashingUser(ex, toInsert));
+            }
+            entityManager.clear();
+            // Applied after commit, so a later failing chunk leaves no trace in them
+            toInsert.forEach(availabilityFilter::add);
+            toInsert.forEach(suggestionIndex::index);
+            toInsert.forEach(user -> statsCounter.created(user.getRole(), user.getActive()));
+            created += toInsert.size();
+        }
+
+        double seconds = Math.max(System.nanoTime() - startNanos, 1) / 1_000_000_000.0;
+        logger.info("Bulk created {} of {} users in {} ms ({} rows/s)",
+                created, users.size(), Math.round(seconds * 1000), Math.round(created / seconds));
+
+        return Arrays.asList(results);
+    }
+
     // ========== READ ==========
 
     /**
@@ -62,11 +212,58 @@ public class UserService {
      * @return The found user
      * @throws UserNotFoundException if user not found
      */
+    // Not transactional: a miss waits on the batch loader, and an open
+    // read-only transaction would hold a pooled connection while it waits
     public User getUserById(Long id) {
         logger.debug("Fetching user with ID: {}", id);
 
-        return userRepository.findById(id)
+        Optional<User> cached = userCache.getById(id);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        // Concurrent misses within the batch window share one IN query
+        User user = userBatchLoader.load(id)
                 .orElseThrow(() -> new UserNotFoundException(id));
+        userCache.put(user);
+        return user;
+    }
+
+    /**
+     * Get many users by ID in one call
+     * Cached users are served from memory; the rest are loaded with a single query.
+     * Unknown ids are skipped.
+     *
+     * @param ids The user IDs (at most MAX_PAGE_SIZE)
+     * @return The found users, in the order of the requested ids
+     * @throws IllegalArgumentException if too many ids are requested
+     */
+    // Read-write so that misses are read from the primary: they are cached (see UserCache)
+    @Transactional
+    public List<User> getUsersByIds(Collection<Long> ids) {
+        logger.debug("Fetching {} users by ID", ids.size());
+        if (ids.size() > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_PAGE_SIZE + " ids can be requested at once");
+        }
+
+        Map<Long, User> found = new HashMap<>();
+        Set<Long> misses = new HashSet<>();
+        for (Long id : ids) {
+            userCache.getById(id).ifPresentOrElse(user -> found.put(id, user), () -> misses.add(id));
+        }
+
+        if (!misses.isEmpty()) {
+            for (User user : userRepository.findAllById(misses)) {
+                userCache.put(user);
+                found.put(user.getId(), user);
+            }
+        }
+
+        return ids.stream()
+                .distinct()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .toList();
     }
 
     /**
@@ -76,11 +273,20 @@ public class UserService {
      * @return The found user
      * @throws UserNotFoundException if user not found
      */
+    // Read-write so that misses are read from the primary: they are cached (see UserCache)
+    @Transactional
     public User getUserByUsername(String username) {
         logger.debug("Fetching user with username: {}", username);
 
-        return userRepository.findByUserName(username)
+        Optional<User> cached = userCache.getByUserName(username);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        User user = userRepository.findByUserName(username)
                 .orElseThrow(() -> new UserNotFoundException("User not found with username: " + username));
+        userCache.put(user);
+        return user;
     }
 
     /**
@@ -90,42 +296,157 @@ public class UserService {
      * @return The found user
      * @throws UserNotFoundException if user not found
      */
+    // Read-write so that misses are read from the primary: they are cached (see UserCache)
+    @Transactional
     public User getUserByEmail(String email) {
         logger.debug("Fetching user with email: {}", email);
 
-        return userRepository.findByEmail(email)
+        Optional<User> cached = userCache.getByEmail(email);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UserNotFoundException("User not found with email: " + email));
+        userCache.put(user);
+        return user;
     }
 
     /**
-     * Get all users
+     * Get the version and last modification time of a user, for conditional GETs
+     * Served from the cache when possible; otherwise reads two columns only.
      *
-     * @return List of all users (including inactive)
+     * @param id The user ID
+     * @return The user's current version
+     * @throws UserNotFoundException if user not found
      */
-    public List<User> getAllUsers() {
-        logger.debug("Fetching all users");
-        return userRepository.findAll();
+    public UserVersion getUserVersion(Long id) {
+        Optional<User> cached = userCache.getById(id);
+        if (cached.isPresent()) {
+            return new UserVersion(cached.get().getVersion(), cached.get().getUpdatedAt());
+        }
+        return userRepository.findVersionById(id)
+                .orElseThrow(() -> new UserNotFoundException(id));
     }
 
     /**
-     * Get all active users
+     * Get a page of all users (including inactive), ordered by id
      *
-     * @return List of active users
+     * @param cursor Opaque token from the previous page, or null for the first page
+     * @param size   Maximum number of users to return (1 to MAX_PAGE_SIZE)
+     * @return Page of read-only user views with the cursor for the next page
+     * @throws IllegalArgumentException if the cursor or size is invalid
      */
-    public List<User> getAllActiveUsers() {
-        logger.debug("Fetching all active users");
-        return userRepository.findByActive(true);
+    @Transactional(readOnly = true)
+    public CursorPage<UserView> getAllUsers(String cursor, int size) {
+        logger.debug("Fetching users page after cursor: {}", cursor);
+        int limit = checkPageSize(size);
+        List<UserView> rows = userRepository.findViewsAfter(
+                KeysetCursor.decode(cursor), Limit.of(limit + 1));
+        return toPage(rows, limit);
     }
 
     /**
-     * Get users by role
+     * Get a page of active users, ordered by id
      *
-     * @param role The user role
-     * @return List of users with the specified role
+     * @param cursor Opaque token from the previous page, or null for the first page
+     * @param size   Maximum number of users to return (1 to MAX_PAGE_SIZE)
+     * @return Page of active users with the cursor for the next page
+     * @throws IllegalArgumentException if the cursor or size is invalid
      */
-    public List<User> getUsersByRole(User.Role role) {
-        logger.debug("Fetching users with role: {}", role);
-        return userRepository.findByRole(role);
+    @Transactional(readOnly = true)
+    public CursorPage<UserView> getAllActiveUsers(String cursor, int size) {
+        logger.debug("Fetching active users page after cursor: {}", cursor);
+        int limit = checkPageSize(size);
+        List<UserView> rows = userRepository.findViewsByActiveAfter(
+                true, KeysetCursor.decode(cursor), Limit.of(limit + 1));
+        return toPage(rows, limit);
+    }
+
+    /**
+     * Get a page of users by role, ordered by id
+     *
+     * @param role   The user role
+     * @param cursor Opaque token from the previous page, or null for the first page
+     * @param size   Maximum number of users to return (1 to MAX_PAGE_SIZE)
+     * @return Page of users with the specified role
+     * @throws IllegalArgumentException if the cursor or size is invalid
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<UserView> getUsersByRole(User.Role role, String cursor, int size) {
+        logger.debug("Fetching users with role: {} after cursor: {}", role, cursor);
+        int limit = checkPageSize(size);
+        List<UserView> rows = userRepository.findViewsByRoleAfter(
+                role, KeysetCursor.decode(cursor), Limit.of(limit + 1));
+        return toPage(rows, limit);
+    }
+
+    /**
+     * Summaries of the pages returned by getAllUsers / getAllActiveUsers / getUsersByRole
+     * for the same cursor and size, computed without loading the rows (for If-None-Match)
+     *
+     * @throws IllegalArgumentException if the cursor or size is invalid
+     */
+    @Transactional(readOnly = true)
+    public PageVersion getAllUsersPageVersion(String cursor, int size) {
+        int limit = checkPageSize(size);
+        return toPageVersion(userRepository.findPageVersionAfter(KeysetCursor.decode(cursor), limit));
+    }
+
+    @Transactional(readOnly = true)
+    public PageVersion getActiveUsersPageVersion(String cursor, int size) {
+        int limit = checkPageSize(size);
+        return toPageVersion(userRepository.findPageVersionByActiveAfter(true, KeysetCursor.decode(cursor), limit));
+    }
+
+    @Transactional(readOnly = true)
+    public PageVersion getUsersByRolePageVersion(User.Role role, String cursor, int size) {
+        int limit = checkPageSize(size);
+        return toPageVersion(
+                userRepository.findPageVersionByRoleAfter(role.name(), KeysetCursor.decode(cursor), limit));
+    }
+
+    /**
+     * Fuzzy search by full name, ranked by similarity
+     * Uses the trigram index, so it stays fast on large tables and tolerates typos.
+     *
+     * @param query The search text (at least 2 characters)
+     * @param limit Maximum number of results (1 to MAX_SEARCH_RESULTS)
+     * @return Best matches first
+     * @throws IllegalArgumentException if the query is too short or the limit is out of range
+     */
+    @Transactional(readOnly = true)
+    public List<UserSearchHit> searchUsers(String query, int limit) {
+        logger.debug("Searching users by full name: {}", query);
+
+        String trimmed = query == null ? "" : query.trim();
+        if (trimmed.length() < 2) {
+            throw new IllegalArgumentException("Search query must have at least 2 characters");
+        }
+        if (limit < 1 || limit > MAX_SEARCH_RESULTS) {
+            throw new IllegalArgumentException("Search limit must be between 1 and " + MAX_SEARCH_RESULTS);
+        }
+
+        return userRepository.searchByFullName(trimmed, limit);
+    }
+
+    /**
+     * Typeahead suggestions for the mention/assignee picker
+     * Served from the in-memory trie; does not query the database.
+     *
+     * @param prefix Case-insensitive username or email prefix
+     * @param limit  Maximum number of suggestions (1 to MAX_SUGGESTIONS)
+     * @return Active users whose username or email starts with the prefix
+     * @throws IllegalArgumentException if the prefix is blank or the limit is out of range
+     */
+    public List<UserSuggestion> suggestUsers(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            throw new IllegalArgumentException("Prefix must not be blank");
+        }
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            throw new IllegalArgumentException("Suggestion limit must be between 1 and " + MAX_SUGGESTIONS);
+        }
+        return suggestionIndex.suggest(prefix.trim(), limit);
     }
 
     // ========== UPDATE ==========
@@ -134,34 +455,26 @@ public class UserService {
      * Update an existing user
      * Note: Some fields like createdAt cannot be updated (protected by JPA)
      *
-     * @param id          The user ID to update
-     * @param updatedUser The user object with updated data
+     * @param id              The user ID to update
+     * @param updatedUser     The user object with updated data
+     * @param expectedVersion Version from If-Match, or null to skip the check
      * @return The updated user
-     * @throws UserNotFoundException  if user not found
-     * @throws DuplicateUserException if username/email conflicts with another user
+     * @throws UserNotFoundException       if user not found
+     * @throws DuplicateUserException      if username/email conflicts with another user
+     * @throws PreconditionFailedException if the user is no longer at expectedVersion
      */
-    public User updateUser(Long id, User updatedUser) {
+    @Transactional
+    public User updateUser(Long id, User updatedUser, Long expectedVersion) {
         logger.info("Updating user with ID: {}", id);
 
         // Check if user exists
         User existingUser = userRepository.findById(id)
                 .orElseThrow(() -> new UserNotFoundException(id));
-
-        // Validate username uniqueness (if changed)
-        if (!existingUser.getUserName().equals(updatedUser.getUserName())) {
-            if (userRepository.existsByUserName(updatedUser.getUserName())) {
-                logger.warn("Username already exists: {}", updatedUser.getUserName());
-                throw new DuplicateUserException("Username already exists: " + updatedUser.getUserName());
-            }
-        }
-
-        // Validate email uniqueness (if changed)
-        if (!existingUser.getEmail().equals(updatedUser.getEmail())) {
-            if (userRepository.existsByEmail(updatedUser.getEmail())) {
-                logger.warn("Email already exists: {}", updatedUser.getEmail());
-                throw new DuplicateUserException("Email already exists: " + updatedUser.getEmail());
-            }
-        }
+        checkVersion(existingUser, expectedVersion);
+        boolean identityChanged = !existingUser.getUserName().equals(updatedUser.getUserName())
+                || !existingUser.getEmail().equals(updatedUser.getEmail());
+        User.Role previousRole = existingUser.getRole();
+        Boolean previousActive = existingUser.getActive();
 
         // Update fields
         existingUser.setUserName(updatedUser.getUserName());
@@ -172,30 +485,109 @@ public class UserService {
         // Note: createdAt is not updated (immutable field)
         // Note: updatedAt is automatically updated by @UpdateTimestamp
 
-        User savedUser = userRepository.save(existingUser);
-        logger.info("User updated successfully: {}", id);
+        // Username/email uniqueness is enforced by the unique constraints on flush,
+        // and the version check in the UPDATE catches edits racing this one
+        User savedUser;
+        try {
+            savedUser = userRepository.saveAndFlush(existingUser);
+        } catch (DataIntegrityViolationException ex) {
+            throw toDuplicateUserException(ex, existingUser);
+        } catch (OptimisticLockingFailureException ex) {
+            throw toPreconditionFailed(ex, id, expectedVersion);
+        }
+
+        userCache.evict(id, savedUser.getVersion());
+        suggestionIndex.index(savedUser);
+        statsCounter.changed(previousRole, previousActive, savedUser.getRole(), savedUser.getActive());
+        if (identityChanged) {
+            availabilityFilter.add(savedUser);
+            availabilityFilter.markStale();
+        }
 
+        logger.info("User updated successfully: {}", id);
         return savedUser;
     }
 
+    /**
+     * Partially update an existing user
+     * Loads the user once, applies only the provided fields and lets dirty
+     * checking issue a single UPDATE of the changed columns on flush.
+     *
+     * @param id              The user ID to patch
+     * @param patch           The fields to change (null fields are left untouched)
+     * @param expectedVersion Version from If-Match, or null to skip the check
+     * @return The updated user
+     * @throws UserNotFoundException       if user not found
+     * @throws DuplicateUserException      if username/email conflicts with another user
+     * @throws PreconditionFailedException if the user is no longer at expectedVersion
+     */
+    @Transactional
+    public User patchUser(Long id, PatchUserRequest patch, Long expectedVersion) {
+        logger.info("Patching user with ID: {}", id);
+
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new UserNotFoundException(id));
+        checkVersion(user, expectedVersion);
+        String previousUserName = user.getUserName();
+        String previousEmail = user.getEmail();
+        User.Role previousRole = user.getRole();
+        Boolean previousActive = user.getActive();
+
+        UserMapper.patchEntity(user, patch);
+
+        try {
+            userRepository.flush();
+        } catch (DataIntegrityViolationException ex) {
+            throw toDuplicateUserException(ex, user);
+        } catch (OptimisticLockingFailureException ex) {
+            throw toPreconditionFailed(ex, id, expectedVersion);
+        }
+
+        userCache.evict(id, user.getVersion());
+        suggestionIndex.index(user);
+        statsCounter.changed(previousRole, previousActive, user.getRole(), user.getActive());
+        if (!previousUserName.equals(user.getUserName()) || !previousEmail.equals(user.getEmail())) {
+            availabilityFilter.add(user);
+            availabilityFilter.markStale();
+        }
+
+        logger.info("User patched successfully: {}", id);
+        return user;
+    }
+
     // ========== DELETE ==========
 
     /**
      * Soft delete - deactivates user instead of permanently deleting
      * This is the recommended approach for production systems
+     * Runs as a single UPDATE ... RETURNING statement
      *
-     * @param id The user ID to deactivate
+     * @param id              The user ID to deactivate
+     * @param expectedVersion Version from If-Match, or null to skip the check
      * @return The deactivated user
-     * @throws UserNotFoundException if user not found
+     * @throws UserNotFoundException       if user not found
+     * @throws PreconditionFailedException if the user is no longer at expectedVersion
      */
-    public User deleteUser(Long id) {
+    @Transactional
+    public User deleteUser(Long id, Long expectedVersion) {
         logger.info("Soft deleting (deactivating) user with ID: {}", id);
 
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new UserNotFoundException(id));
+        LocalDateTime now = LocalDateTime.now();
+        Optional<User> updated = expectedVersion == null
+                ? userRepository.updateActive(id, false, now)
+                : userRepository.updateActiveAtVersion(id, false, expectedVersion, now);
+        if (updated.isEmpty()) {
+            // Missing, at another version, or already inactive (nothing changed)
+            User current = userRepository.findById(id)
+                    .orElseThrow(() -> new UserNotFoundException(id));
+            checkVersion(current, expectedVersion);
+            return current;
+        }
 
-        user.setActive(false);
-        User deactivatedUser = userRepository.save(user);
+        User deactivatedUser = updated.get();
+        userCache.evict(id, deactivatedUser.getVersion());
+        suggestionIndex.remove(id);
+        statsCounter.changed(deactivatedUser.getRole(), true, deactivatedUser.getRole(), false);
 
         logger.info("User deactivated successfully: {}", id);
         return deactivatedUser;
@@ -209,32 +601,45 @@ public class UserService {
      * @param id The user ID to permanently delete
      * @throws UserNotFoundException if user not found
      */
+    @Transactional
     public void hardDeleteUser(Long id) {
         logger.warn("HARD DELETING user with ID: {}", id);
 
-        if (!userRepository.existsById(id)) {
-            throw new UserNotFoundException(id);
-        }
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new UserNotFoundException(id));
 
-        userRepository.deleteById(id);
+        userRepository.delete(user);
+        userCache.evict(id, Long.MAX_VALUE);
+        suggestionIndex.remove(id);
+        availabilityFilter.markStale();
+        statsCounter.removed(user.getRole(), user.getActive());
+        signupReportService.invalidate();
         logger.warn("User permanently deleted: {}", id);
     }
 
     /**
      * Reactivate a soft-deleted (inactive) user
+     * Runs as a single UPDATE ... RETURNING statement
      *
      * @param id The user ID to reactivate
      * @return The reactivated user
      * @throws UserNotFoundException if user not found
      */
+    @Transactional
     public User reactivateUser(Long id) {
         logger.info("Reactivating user with ID: {}", id);
 
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new UserNotFoundException(id));
+        Optional<User> updated = userRepository.updateActive(id, true, LocalDateTime.now());
+        if (updated.isEmpty()) {
+            // Missing, or already active (nothing changed)
+            return userRepository.findById(id)
+                    .orElseThrow(() -> new UserNotFoundException(id));
+        }
 
-        user.setActive(true);
-        User reactivatedUser = userRepository.save(user);
+        User reactivatedUser = updated.get();
+        userCache.evict(id, reactivatedUser.getVersion());
+        suggestionIndex.index(reactivatedUser);
+        statsCounter.changed(reactivatedUser.getRole(), false, reactivatedUser.getRole(), true);
 
         logger.info("User reactivated successfully: {}", id);
         return reactivatedUser;
@@ -243,31 +648,81 @@ public class UserService {
     // ========== UTILITY METHODS ==========
 
     /**
-     * Check if a username is available
+     * Check if a username is available (ignoring case)
      *
      * @param username The username to check
      * @return true if available, false if taken
      */
+    @Transactional(readOnly = true)
     public boolean isUsernameAvailable(String username) {
+        // Definite misses in the Bloom filter never reach the database
+        if (!availabilityFilter.mightContainUserName(username)) {
+            return true;
+        }
         return !userRepository.existsByUserName(username);
     }
 
     /**
-     * Check if an email is available
+     * Check if an email is available (ignoring case)
      *
      * @param email The email to check
      * @return true if available, false if taken
      */
+    @Transactional(readOnly = true)
     public boolean isEmailAvailable(String email) {
+        // Definite misses in the Bloom filter never reach the database
+        if (!availabilityFilter.mightContainEmail(email)) {
+            return true;
+        }
         return !userRepository.existsByEmail(email);
     }
 
+    /**
+     * Check many usernames at once
+     * Bloom filter misses are answered directly; the rest are resolved
+     * with a single IN query.
+     *
+     * @param usernames The usernames to check
+     * @return Map of username to availability, in input order
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Boolean> checkUsernamesAvailability(Collection<String> usernames) {
+        return checkAvailability(usernames, availabilityFilter::mightContainUserName,
+                userRepository::findExistingUserNames);
+    }
+
+    /**
+     * Check many emails at once
+     * Bloom filter misses are answered directly; the rest are resolved
+     * with a single IN query.
+     *
+     * @param emails The emails to check
+     * @return Map of email to availability, in input order
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Boolean> checkEmailsAvailability(Collection<String> emails) {
+        return checkAvailability(emails, availabilityFilter::mightContainEmail,
+                userRepository::findExistingEmails);
+    }
+
+    /**
+     * Get user counts by role and active status for the dashboard
+     * Served from in-memory counters that are loaded with one GROUP BY query
+     * and kept current by write deltas.
+     *
+     * @return Counts by role x active
+     */
+    public UserStats getUserStats() {
+        return statsCounter.snapshot();
+    }
+
     /**
      * Get count of users by role
      *
      * @param role The role to count
      * @return Number of users with that role
      */
+    @Transactional(readOnly = true)
     public long countUsersByRole(User.Role role) {
         return userRepository.countByRole(role);
     }
@@ -277,9 +732,135 @@ public class UserService {
      *
      * @return Number of active users
      */
+    @Transactional(readOnly = true)
     public long countActiveUsers() {
         return userRepository.countByActive(true);
     }
+
+    // ========== AVAILABILITY HELPERS ==========
+
+    private Map<String, Boolean> checkAvailability(Collection<String> values,
+            Predicate<String> mightBeTaken, Function<Collection<String>, List<String>> findTaken) {
+        Map<String, Boolean> availability = new LinkedHashMap<>();
+        Set<String> candidates = new HashSet<>();
+
+        for (String value : values) {
+            availability.put(value, true);
+            if (mightBeTaken.test(value)) {
+                candidates.add(User.lookupKey(value));
+            }
+        }
+
+        if (!candidates.isEmpty()) {
+            // Taken values come back as lookup keys; match them case-insensitively
+            Set<String> taken = new HashSet<>(findTaken.apply(candidates));
+            availability.replaceAll((value, available) -> !taken.contains(User.lookupKey(value)));
+        }
+        return availability;
+    }
+
+    // ========== CONSTRAINT HELPERS ==========
+
+    /**
+     * Translate a unique constraint violation into the matching DuplicateUserException.
+     * Other integrity violations (e.g. NOT NULL) are returned unchanged.
+     * user may be null when the clashing user of a batch is unknown.
+     */
+    private RuntimeException toDuplicateUserException(DataIntegrityViolationException ex, User user) {
+        String constraint = constraintName(ex);
+        String detail = String.valueOf(ex.getMostSpecificCause().getMessage());
+
+        // Named constraints first; the PostgreSQL "Key (lower(column::text))=..." detail
+        // covers databases whose constraints still have generated names
+        if (User.UNIQUE_USER_NAME.equalsIgnoreCase(constraint) || detail.contains("(user_name")) {
+            String message = user != null ? "Username already exists: " + user.getUserName()
+                    : "Username already exists";
+            logger.warn(message);
+            return new DuplicateUserException(message);
+        }
+        if (User.UNIQUE_EMAIL.equalsIgnoreCase(constraint) || detail.contains("(email")) {
+            String message = user != null ? "Email already exists: " + user.getEmail()
+                    : "Email already exists";
+            logger.warn(message);
+            return new DuplicateUserException(message);
+        }
+        return ex;
+    }
+
+    /**
+     * The user of a failed batch whose username or email is named in the PostgreSQL
+     * "Key (...)=(value) already exists" detail, or null if it cannot be told
+     */
+    private static User clashingUser(DataIntegrityViolationException ex, List<User> batch) {
+        String detail = String.valueOf(ex.getMostSpecificCause().getMessage());
+        for (User user : batch) {
+            if (detail.contains("=(" + User.lookupKey(user.getUserName()) + ")")
+                    || detail.contains("=(" + User.lookupKey(user.getEmail()) + ")")) {
+                return user;
+            }
+        }
+        return null;
+    }
+
+    private static String constraintName(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                return violation.getConstraintName();
+            }
+        }
+        return null;
+    }
+
+    // ========== VERSION HELPERS ==========
+
+    private static void checkVersion(User user, Long expectedVersion) {
+        if (expectedVersion != null && user.getVersion() != expectedVersion) {
+            throw new PreconditionFailedException(user.getId(), expectedVersion, user.getVersion());
+        }
+    }
+
+    /**
+     * A concurrent update bumped the version between our read and our UPDATE.
+     * With If-Match that is a failed precondition; otherwise it surfaces as a 409.
+     */
+    private static RuntimeException toPreconditionFailed(OptimisticLockingFailureException ex, Long id,
+            Long expectedVersion) {
+        if (expectedVersion == null) {
+            return ex;
+        }
+        return new PreconditionFailedException("User " + id + " was modified concurrently: If-Match version "
+                + expectedVersion + " is no longer current");
+    }
+
+    // ========== PAGINATION HELPERS ==========
+
+    private int checkPageSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return size;
+    }
+
+    /**
+     * Build a page from rows fetched with limit + 1.
+     * The extra row only signals that another page exists and is not returned.
+     */
+    private CursorPage<UserView> toPage(List<UserView> rows, int limit) {
+        boolean hasMore = rows.size() > limit;
+        List<UserView> items = hasMore ? rows.subList(0, limit) : rows;
+        String next = hasMore ? KeysetCursor.encode(items.get(items.size() - 1).id()) : null;
+
+        return CursorPage.<UserView>builder()
+                .items(items)
+                .next(next)
+                .size(items.size())
+                .build();
+    }
+
+    private PageVersion toPageVersion(PageVersionRow row) {
+        return new PageVersion(row.getLastModified(), row.getRows(), row.getLastId(),
+                Boolean.TRUE.equals(row.getHasNext()));
+    }
 }
 
 /*
@@ -298,7 +879,9 @@ public class UserService {
  * - Hard delete available but should be used cautiously
  * 
  * 3. Validation:
- * - Service layer validates business rules (uniqueness, existence)
+ * - Service layer validates business rules (existence); uniqueness is left to
+ * the database case-insensitive unique indexes and translated into
+ * DuplicateUserException
  * - Entity layer validates data format (@NotBlank, @Email, etc.)
  * - Both layers work together for complete validation
  * 
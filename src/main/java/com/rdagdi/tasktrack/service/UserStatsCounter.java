@@ -0,0 +1,143 @@
+package com.rdagdi.tasktrack.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.rdagdi.tasktrack.dto.UserStats;
+import com.rdagdi.tasktrack.entity.User;
+import com.rdagdi.tasktrack.repository.RoleActiveCount;
+import com.rdagdi.tasktrack.repository.UserRepository;
+
+/**
+ * Role x active user counters for the stats dashboard.
+ *
+ * Counts are loaded with one GROUP BY query and then kept current by deltas
+ * that UserService applies after each committed create, role change,
+ * (de)activation and hard delete. Polling the dashboard therefore costs
+ * no database work. The counts are recomputed from the database after
+ * refresh-interval to correct any drift.
+ */
+@Component
+public class UserStatsCounter {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserStatsCounter.class);
+
+    private static final User.Role[] ROLES = User.Role.values();
+
+    private final UserRepository userRepository;
+    private final long refreshIntervalNanos;
+
+    // Slot per (role, active): index = role.ordinal() * 2 + (active ? 1 : 0)
+    private volatile AtomicLongArray counts;
+    private volatile long loadedAtNanos;
+    private volatile LocalDateTime refreshedAt;
+
+    // Not synchronized: a virtual thread blocked on the query inside a monitor would pin its carrier
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    public UserStatsCounter(UserRepository userRepository,
+            @Value("${tasktrack.stats.refresh-interval:5m}") Duration refreshInterval) {
+        this.userRepository = userRepository;
+        this.refreshIntervalNanos = refreshInterval.toNanos();
+    }
+
+    /**
+     * Current counts, reloading from the database if they are missing or too old
+     */
+    public UserStats snapshot() {
+        AtomicLongArray current = counts;
+        if (current == null || System.nanoTime() - loadedAtNanos > refreshIntervalNanos) {
+            current = reload();
+        }
+
+        Map<User.Role, UserStats.RoleCount> byRole = new EnumMap<>(User.Role.class);
+        long active = 0;
+        long inactive = 0;
+        for (User.Role role : ROLES) {
+            long roleActive = Math.max(0, current.get(slot(role, true)));
+            long roleInactive = Math.max(0, current.get(slot(role, false)));
+            byRole.put(role, new UserStats.RoleCount(roleActive, roleInactive));
+            active += roleActive;
+            inactive += roleInactive;
+        }
+
+        return UserStats.builder()
+                .total(active + inactive)
+                .active(active)
+                .inactive(inactive)
+                .byRole(byRole)
+                .refreshedAt(refreshedAt)
+                .build();
+    }
+
+    /**
+     * Record a new user
+     */
+    public void created(User.Role role, Boolean active) {
+        AfterCommit.run(() -> add(role, active, 1));
+    }
+
+    /**
+     * Record a hard-deleted user
+     */
+    public void removed(User.Role role, Boolean active) {
+        AfterCommit.run(() -> add(role, active, -1));
+    }
+
+    /**
+     * Record a role and/or active status change
+     */
+    public void changed(User.Role oldRole, Boolean oldActive, User.Role newRole, Boolean newActive) {
+        if (oldRole == newRole && Boolean.TRUE.equals(oldActive) == Boolean.TRUE.equals(newActive)) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            add(oldRole, oldActive, -1);
+            add(newRole, newActive, 1);
+        });
+    }
+
+    private AtomicLongArray reload() {
+        reloadLock.lock();
+        try {
+            // Another thread may have reloaded while this one waited
+            if (counts != null && System.nanoTime() - loadedAtNanos <= refreshIntervalNanos) {
+                return counts;
+            }
+
+            AtomicLongArray fresh = new AtomicLongArray(ROLES.length * 2);
+            for (RoleActiveCount row : userRepository.countGroupedByRoleAndActive()) {
+                fresh.addAndGet(slot(row.role(), row.active()), row.count());
+            }
+
+            counts = fresh;
+            loadedAtNanos = System.nanoTime();
+            refreshedAt = LocalDateTime.now();
+            logger.debug("Reloaded user stats counters");
+            return fresh;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private void add(User.Role role, Boolean active, long delta) {
+        AtomicLongArray current = counts;
+        // Nothing loaded yet: the next reload will include this change
+        if (current != null && role != null) {
+            current.addAndGet(slot(role, active), delta);
+        }
+    }
+
+    private static int slot(User.Role role, Boolean active) {
+        return role.ordinal() * 2 + (Boolean.TRUE.equals(active) ? 1 : 0);
+    }
+}
@@ -0,0 +1,193 @@
+package com.rdagdi.tasktrack.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.rdagdi.tasktrack.dto.UserSuggestion;
+import com.rdagdi.tasktrack.dto.UserView;
+import com.rdagdi.tasktrack.entity.User;
+import com.rdagdi.tasktrack.repository.UserRepository;
+
+/**
+ * In-memory typeahead index over the usernames and emails of active users.
+ *
+ * Loaded from the database at startup and kept in sync by UserService
+ * writes, so prefix suggestions never touch PostgreSQL. Keys are matched
+ * case-insensitively. Inactive users are not indexed.
+ *
+ * Writes are applied once their transaction commits. Writes that arrive
+ * while a rebuild is reading are also buffered and replayed onto the new
+ * trie before it is swapped in.
+ */
+@Component
+public class UserSuggestionIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserSuggestionIndex.class);
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate primaryTransaction;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private PrefixTrie<UserSuggestion> trie = new PrefixTrie<>();
+    private Map<Long, UserSuggestion> byId = new HashMap<>();
+    // Writes seen since the running rebuild started reading; null when not rebuilding
+    private List<Write> pendingWrites;
+    // One rebuild at a time; not synchronized, so a virtual thread running the query doesn't pin its carrier
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    public UserSuggestionIndex(UserRepository userRepository, PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        // Not read-only, so replica routing cannot load the index from a lagging replica
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Load every active user into a fresh trie and swap it in
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            rebuildLocked();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private void rebuildLocked() {
+        long start = System.currentTimeMillis();
+        PrefixTrie<UserSuggestion> freshTrie = new PrefixTrie<>();
+        Map<Long, UserSuggestion> freshById = new HashMap<>();
+
+        // Started before the read: a write committed after this point is buffered,
+        // one committed before it is in the rows read
+        lock.writeLock().lock();
+        try {
+            pendingWrites = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            primaryTransaction.executeWithoutResult(status -> {
+                try (Stream<UserView> users = userRepository.streamActiveViews()) {
+                    users.forEach(view -> {
+                        UserSuggestion suggestion = new UserSuggestion(
+                                view.id(), view.userName(), view.email(), view.fullName());
+                        freshById.put(suggestion.id(), suggestion);
+                        addKeys(freshTrie, suggestion);
+                    });
+                }
+            });
+
+            lock.writeLock().lock();
+            try {
+                // Replay in arrival order; re-applying a write the read already saw is harmless
+                for (Write write : pendingWrites) {
+                    applyLocked(freshTrie, freshById, write);
+                }
+                trie = freshTrie;
+                byId = freshById;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            logger.info("Suggestion index loaded {} active users in {} ms",
+                    freshById.size(), System.currentTimeMillis() - start);
+        } finally {
+            lock.writeLock().lock();
+            try {
+                pendingWrites = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Index (or re-index) a user once the write commits; inactive users are removed
+     */
+    public void index(User user) {
+        UserSuggestion suggestion = Boolean.TRUE.equals(user.getActive())
+                ? new UserSuggestion(user.getId(), user.getUserName(), user.getEmail(), user.getFullName())
+                : null;
+        write(new Write(user.getId(), suggestion));
+    }
+
+    /**
+     * Remove a user once the write commits
+     */
+    public void remove(Long id) {
+        write(new Write(id, null));
+    }
+
+    /**
+     * Active users whose username or email starts with the prefix
+     *
+     * @param prefix Case-insensitive prefix
+     * @param limit  Maximum number of suggestions
+     * @return Matches in lexicographic key order
+     */
+    public List<UserSuggestion> suggest(String prefix, int limit) {
+        lock.readLock().lock();
+        try {
+            return trie.findByPrefix(normalize(prefix), limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void write(Write write) {
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                applyLocked(trie, byId, write);
+                if (pendingWrites != null) {
+                    pendingWrites.add(write);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    private static void applyLocked(PrefixTrie<UserSuggestion> target, Map<Long, UserSuggestion> targetById,
+            Write write) {
+        UserSuggestion existing = targetById.remove(write.id());
+        if (existing != null) {
+            target.remove(normalize(existing.userName()), existing);
+            target.remove(normalize(existing.email()), existing);
+        }
+        if (write.suggestion() != null) {
+            targetById.put(write.id(), write.suggestion());
+            addKeys(target, write.suggestion());
+        }
+    }
+
+    private static void addKeys(PrefixTrie<UserSuggestion> target, UserSuggestion suggestion) {
+        target.put(normalize(suggestion.userName()), suggestion);
+        target.put(normalize(suggestion.email()), suggestion);
+    }
+
+    private static String normalize(String key) {
+        return key.toLowerCase(Locale.ROOT);
+    }
+
+    // Latest state of one user: the suggestion to index, or null to remove it
+    private record Write(Long id, UserSuggestion suggestion) {
+    }
+}
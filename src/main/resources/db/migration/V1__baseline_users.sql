@@ -0,0 +1,36 @@
+-- Baseline users schema, matching the User entity.
+-- Idempotent so it also applies to databases previously created by
+-- Hibernate's ddl-auto=update (Flyway baselines them at version 0).
+
+CREATE TABLE IF NOT EXISTS users (
+    id         BIGINT       NOT NULL PRIMARY KEY,
+    user_name  VARCHAR(255) NOT NULL,
+    email      VARCHAR(255) NOT NULL,
+    full_name  VARCHAR(255) NOT NULL,
+    role       VARCHAR(255) NOT NULL,
+    active     BOOLEAN      NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL
+);
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'uk_users_user_name') THEN
+        ALTER TABLE users ADD CONSTRAINT uk_users_user_name UNIQUE (user_name);
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'uk_users_email') THEN
+        ALTER TABLE users ADD CONSTRAINT uk_users_email UNIQUE (email);
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'ck_users_role') THEN
+        ALTER TABLE users ADD CONSTRAINT ck_users_role
+            CHECK (role IN ('ADMIN', 'PROJECT_MANAGER', 'DEVELOPER', 'TESTER'));
+    END IF;
+END $$;
+
+-- Id sequence; the increment must match allocationSize = 50 on User.id
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE users_seq INCREMENT BY 50;
+
+-- Move the sequence past existing ids (never backwards)
+SELECT setval('users_seq',
+        GREATEST((SELECT last_value FROM users_seq), COALESCE((SELECT MAX(id) FROM users), 0) + 50));
@@ -0,0 +1,15 @@
+-- Indexes matching the UserRepository query shapes.
+-- Built CONCURRENTLY so existing tables stay writable; see the .conf file.
+
+-- findByActive, countByActive, findViewsByActiveAfter (active = ? AND id > ? ORDER BY id)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_active_id ON users (active, id);
+
+-- findByRole, countByRole, findViewsByRoleAfter (role = ? AND id > ? ORDER BY id)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_role_id ON users (role, id);
+
+-- findByActiveAndRole(true, role): active users are most lookups, so a
+-- partial index keeps this one small and skips inactive rows entirely
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_active_role_id ON users (role, id) WHERE active = true;
+
+-- findByCreatedAtBetween, findByCreatedAtAfter, signup report range scans
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_created_at ON users (created_at);
@@ -0,0 +1,7 @@
+-- Trigram index behind searchByFullName ('<%' word similarity).
+-- Requires the pg_trgm extension (trusted since PostgreSQL 13, so the
+-- database owner can create it).
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_full_name_trgm ON users USING gin (full_name gin_trgm_ops);
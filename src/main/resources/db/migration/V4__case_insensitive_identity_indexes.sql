@@ -0,0 +1,35 @@
+-- Case-insensitive uniqueness for usernames and emails.
+-- Replaces the plain unique constraints with unique indexes on lower(...),
+-- which also serve the lower(...) = lower(?) lookups in UserRepository.
+-- The new indexes keep the old names so violations still map to
+-- User.UNIQUE_USER_NAME / User.UNIQUE_EMAIL.
+
+-- Fail early (before any index is built) if existing rows differ only by case
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM users GROUP BY lower(user_name) HAVING count(*) > 1) THEN
+        RAISE EXCEPTION 'users.user_name has values that differ only by case; resolve them before migrating';
+    END IF;
+    IF EXISTS (SELECT 1 FROM users GROUP BY lower(email) HAVING count(*) > 1) THEN
+        RAISE EXCEPTION 'users.email has values that differ only by case; resolve them before migrating';
+    END IF;
+END $$;
+
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS uk_users_user_name_ci ON users (lower(user_name));
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS uk_users_email_ci ON users (lower(email));
+
+-- A failed concurrent build leaves an INVALID index behind that would not enforce anything
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid
+               WHERE c.relname IN ('uk_users_user_name_ci', 'uk_users_email_ci') AND NOT i.indisvalid) THEN
+        RAISE EXCEPTION 'Invalid case-insensitive unique index; drop uk_users_*_ci and migrate again';
+    END IF;
+END $$;
+
+-- The new indexes already enforce uniqueness, so there is no unprotected window
+ALTER TABLE users DROP CONSTRAINT IF EXISTS uk_users_user_name;
+ALTER INDEX uk_users_user_name_ci RENAME TO uk_users_user_name;
+
+ALTER TABLE users DROP CONSTRAINT IF EXISTS uk_users_email;
+ALTER INDEX uk_users_email_ci RENAME TO uk_users_email;
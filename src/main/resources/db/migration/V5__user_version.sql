@@ -0,0 +1,3 @@
+-- Optimistic-lock version behind User.version and the ETag / If-Match headers.
+-- A constant default is a metadata-only change, so existing rows are not rewritten.
+ALTER TABLE users ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,114 @@
+package com.rdagdi.tasktrack.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for AdaptiveConcurrencyLimiter.
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(50);
+
+    @Test
+    @DisplayName("Requests beyond the limit should be rejected until one completes")
+    void tryAcquire_RejectsAtLimit() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 2, 1, 10);
+
+        // Act & Assert
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+
+        limiter.onSuccess(FAST);
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("Limit should grow while saturated with steady latency")
+    void onSuccess_GrowsWithSteadyLatency() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 10, 1, 100);
+
+        // Act
+        runSaturated(limiter, FAST, 50);
+
+        // Assert
+        assertTrue(limiter.getLimit() > 10, "limit " + limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("Limit should shrink when latency rises well above its long-term average")
+    void onSuccess_ShrinksWhenLatencyRises() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 50, 2, 100);
+        runSaturated(limiter, FAST, 20);
+        int before = limiter.getLimit();
+
+        // Act
+        runSaturated(limiter, SLOW, 50);
+
+        // Assert
+        assertTrue(limiter.getLimit() < before, before + " -> " + limiter.getLimit());
+        assertTrue(limiter.getLimit() >= 2);
+    }
+
+    @Test
+    @DisplayName("Limit should not grow while mostly idle")
+    void onSuccess_IgnoresIdleSamples() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 10, 1, 100);
+
+        // Act
+        for (int i = 0; i < 50; i++) {
+            limiter.tryAcquire();
+            limiter.onSuccess(FAST);
+        }
+
+        // Assert
+        assertEquals(10, limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("Failed requests should back the limit off, but not below the minimum")
+    void onDropped_BacksOff() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 10, 5, 100);
+
+        // Act
+        for (int i = 0; i < 20; i++) {
+            limiter.tryAcquire();
+            limiter.onDropped();
+        }
+
+        // Assert
+        assertEquals(5, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    @DisplayName("Should reject inconsistent limits")
+    void constructor_InvalidLimits() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter("test", 1, 2, 10));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter("test", 5, 0, 10));
+    }
+
+    // Fill the limit, then complete every request with the given latency
+    private static void runSaturated(AdaptiveConcurrencyLimiter limiter, long rttNanos, int rounds) {
+        for (int round = 0; round < rounds; round++) {
+            int admitted = 0;
+            while (limiter.tryAcquire()) {
+                admitted++;
+            }
+            for (int i = 0; i < admitted; i++) {
+                limiter.onSuccess(rttNanos);
+            }
+        }
+    }
+}
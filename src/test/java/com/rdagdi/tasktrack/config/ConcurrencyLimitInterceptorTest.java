@@ -0,0 +1,65 @@
+package com.rdagdi.tasktrack.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Unit tests for ConcurrencyLimitInterceptor.
+ */
+class ConcurrencyLimitInterceptorTest {
+
+    private final AdaptiveConcurrencyLimiter pointLimiter = new AdaptiveConcurrencyLimiter("point", 10, 1, 100);
+    private final AdaptiveConcurrencyLimiter listLimiter = new AdaptiveConcurrencyLimiter("list", 10, 1, 100);
+    private final ConcurrencyLimitInterceptor interceptor =
+            new ConcurrencyLimitInterceptor(pointLimiter, listLimiter, 1);
+
+    @Test
+    @DisplayName("List reads and bulk endpoints should use the list limiter")
+    void limiterFor_ListEndpoints() {
+        assertSame(listLimiter, interceptor.limiterFor(request("GET", "/api/users")));
+        assertSame(listLimiter, interceptor.limiterFor(request("HEAD", "/api/users/role/{role}")));
+        assertSame(listLimiter, interceptor.limiterFor(request("POST", "/api/users/batch")));
+    }
+
+    @Test
+    @DisplayName("Single-user reads and writes should use the point limiter, even on a list path")
+    void limiterFor_PointEndpoints() {
+        assertSame(pointLimiter, interceptor.limiterFor(request("POST", "/api/users")));
+        assertSame(pointLimiter, interceptor.limiterFor(request("GET", "/api/users/{id}")));
+        assertSame(pointLimiter, interceptor.limiterFor(request("PUT", "/api/users/{id}")));
+    }
+
+    @Test
+    @DisplayName("Only 503 responses should shrink the limit; other server errors just free the slot")
+    void afterCompletion_BacksOffOnlyOnOverload() {
+        // Act: twenty bugs or unmapped errors, then one overload
+        for (int i = 0; i < 20; i++) {
+            complete(request("GET", "/api/users/{id}"), 500);
+        }
+        int limitAfterErrors = pointLimiter.getLimit();
+        complete(request("GET", "/api/users/{id}"), 503);
+
+        // Assert
+        assertEquals(10, limitAfterErrors);
+        assertEquals(9, pointLimiter.getLimit());
+        assertEquals(0, pointLimiter.getInFlight());
+    }
+
+    private void complete(MockHttpServletRequest request, int status) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, null);
+        response.setStatus(status);
+        interceptor.afterCompletion(request, response, null, null);
+    }
+
+    private static MockHttpServletRequest request(String method, String pattern) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, pattern);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+        return request;
+    }
+}
@@ -0,0 +1,86 @@
+package com.rdagdi.tasktrack.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Unit tests for ConsistencyTokenFilter.
+ */
+class ConsistencyTokenFilterTest {
+
+    private final ConsistencyTokenFilter filter = new ConsistencyTokenFilter(Duration.ofSeconds(5));
+
+    @Test
+    @DisplayName("Writes should return a token and run pinned to the primary")
+    void write_IssuesTokenAndPins() throws Exception {
+        // Arrange
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        boolean[] pinned = new boolean[1];
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/users"), response,
+                (request, res) -> pinned[0] = ReadYourWritesContext.isPinnedToPrimary());
+
+        // Assert
+        assertTrue(pinned[0]);
+        assertNotNull(response.getHeader(ConsistencyTokenFilter.HEADER));
+        assertFalse(ReadYourWritesContext.isPinnedToPrimary());
+    }
+
+    @Test
+    @DisplayName("The token should hold the time the write finished, not when the request started")
+    void write_StampsTokenAfterHandler() throws Exception {
+        // Arrange
+        MockHttpServletResponse withBody = new MockHttpServletResponse();
+        MockHttpServletResponse withoutBody = new MockHttpServletResponse();
+        long[] handledAt = new long[2];
+
+        // Act: slow writes, one answering with a body and one without
+        filter.doFilter(new MockHttpServletRequest("PUT", "/api/users/1"), withBody, (request, res) -> {
+            handledAt[0] = slowWrite();
+            res.getWriter().write("{}");
+        });
+        filter.doFilter(new MockHttpServletRequest("DELETE", "/api/users/1"), withoutBody,
+                (request, res) -> handledAt[1] = slowWrite());
+
+        // Assert
+        assertTrue(Long.parseLong(withBody.getHeader(ConsistencyTokenFilter.HEADER)) >= handledAt[0]);
+        assertTrue(Long.parseLong(withoutBody.getHeader(ConsistencyTokenFilter.HEADER)) >= handledAt[1]);
+    }
+
+    private static long slowWrite() {
+        try {
+            Thread.sleep(50);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        return System.currentTimeMillis();
+    }
+
+    @Test
+    @DisplayName("Tokens younger than the maximum lag should pin reads")
+    void isRecentWrite_RecentToken() {
+        long now = System.currentTimeMillis();
+
+        assertTrue(filter.isRecentWrite(Long.toString(now - 1_000)));
+        assertTrue(filter.isRecentWrite(Long.toString(now + 1_000)));
+    }
+
+    @Test
+    @DisplayName("Old, far-future and unreadable tokens should be ignored")
+    void isRecentWrite_RejectsUntrustedTokens() {
+        long now = System.currentTimeMillis();
+
+        assertFalse(filter.isRecentWrite(Long.toString(now - 10_000)));
+        assertFalse(filter.isRecentWrite(Long.toString(Long.MAX_VALUE)));
+        assertFalse(filter.isRecentWrite(Long.toString(now + 60_000)));
+        assertFalse(filter.isRecentWrite("not-a-timestamp"));
+        assertFalse(filter.isRecentWrite(null));
+    }
+}
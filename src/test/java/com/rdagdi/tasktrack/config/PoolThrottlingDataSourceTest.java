@@ -0,0 +1,70 @@
+package com.rdagdi.tasktrack.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for PoolThrottlingDataSource.
+ */
+class PoolThrottlingDataSourceTest {
+
+    private final DataSource pool = mock(DataSource.class);
+    private PoolThrottlingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(pool.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        dataSource = new PoolThrottlingDataSource(pool, 1, Duration.ofMillis(50));
+    }
+
+    @Test
+    @DisplayName("Callers beyond the pool size should time out without reaching the pool")
+    void getConnection_TimesOutWhenPermitsTaken() throws SQLException {
+        // Arrange
+        dataSource.getConnection();
+
+        // Act & Assert
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        verify(pool, times(1)).getConnection();
+    }
+
+    @Test
+    @DisplayName("Closing a connection should return its permit exactly once")
+    void close_ReleasesPermitOnce() throws SQLException {
+        // Arrange
+        Connection first = dataSource.getConnection();
+
+        // Act
+        first.close();
+        first.close();
+        Connection second = dataSource.getConnection();
+
+        // Assert
+        assertNotNull(second);
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+    }
+
+    @Test
+    @DisplayName("A failed pool checkout should return its permit")
+    void getConnection_PoolFailureReleasesPermit() throws SQLException {
+        // Arrange
+        when(pool.getConnection())
+                .thenThrow(new SQLTransientConnectionException("pool timeout"))
+                .thenAnswer(invocation -> mock(Connection.class));
+
+        // Act & Assert
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        assertNotNull(dataSource.getConnection());
+    }
+}
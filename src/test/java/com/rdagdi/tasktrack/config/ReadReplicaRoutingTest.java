@@ -0,0 +1,146 @@
+package com.rdagdi.tasktrack.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import com.rdagdi.tasktrack.dto.PatchUserRequest;
+import com.rdagdi.tasktrack.entity.User;
+import com.rdagdi.tasktrack.entity.User.Role;
+import com.rdagdi.tasktrack.repository.UserRepository;
+import com.rdagdi.tasktrack.service.UserService;
+
+/**
+ * End-to-end checks of the read replica profile.
+ *
+ * Runs with two independent PostgreSQL databases (Testcontainers; skipped
+ * without Docker) and replica.schema=migrate. Nothing replicates between
+ * them, so a row written to the primary is invisible on the replica, which
+ * shows where each read was routed, and a row copied to the replica by hand
+ * plays a replica that lags behind later writes.
+ */
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+class ReadReplicaRoutingTest {
+
+    @Container
+    static PostgreSQLContainer primary = new PostgreSQLContainer("postgres:16-alpine");
+
+    @Container
+    static PostgreSQLContainer replica = new PostgreSQLContainer("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void dataSources(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", primary::getJdbcUrl);
+        registry.add("spring.datasource.username", primary::getUsername);
+        registry.add("spring.datasource.password", primary::getPassword);
+        registry.add("tasktrack.datasource.replica.enabled", () -> "true");
+        registry.add("tasktrack.datasource.replica.url", replica::getJdbcUrl);
+        registry.add("tasktrack.datasource.replica.username", replica::getUsername);
+        registry.add("tasktrack.datasource.replica.password", replica::getPassword);
+        registry.add("tasktrack.datasource.replica.schema", () -> "migrate");
+    }
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @AfterEach
+    void tearDown() {
+        ReadYourWritesContext.clear();
+    }
+
+    @Test
+    @DisplayName("Replica should be migrated to the primary's schema at startup")
+    void replicaSchemaMigrated() {
+        JdbcTemplate replicaJdbc = new JdbcTemplate(replicaDataSource);
+
+        assertEquals(1, replicaJdbc.queryForObject(
+                "select count(*) from information_schema.tables where table_name = 'users'", Long.class));
+        assertTrue(replicaJdbc.queryForObject(
+                "select count(*) from flyway_schema_history where success", Long.class) > 0);
+    }
+
+    @Test
+    @DisplayName("Read-only transactions should read the replica unless the request is pinned")
+    void readOnlyRouting() {
+        // Arrange: written on the primary only
+        userService.createUser(user("routed"));
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        // Act
+        boolean onReplica = readOnly.execute(status -> userRepository.existsByUserName("routed"));
+        ReadYourWritesContext.pinToPrimary();
+        boolean pinned = readOnly.execute(status -> userRepository.existsByUserName("routed"));
+
+        // Assert
+        assertFalse(onReplica);
+        assertTrue(pinned);
+    }
+
+    @Test
+    @DisplayName("Cached single-user reads should never serve a lagging replica's row")
+    void cachedReadsAfterWrite() {
+        // Arrange: the replica has the user as created, but not the later write
+        User created = userService.createUser(user("lagging"));
+        new JdbcTemplate(new DriverManagerDataSource(replica.getJdbcUrl(), replica.getUsername(),
+                replica.getPassword())).update("""
+                        INSERT INTO users (id, user_name, email, full_name, role, active, created_at, updated_at, version)
+                        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+                        """, created.getId(), created.getUserName(), created.getEmail(), created.getFullName(),
+                created.getRole().name(), created.getActive(), created.getCreatedAt(), created.getUpdatedAt(),
+                created.getVersion());
+
+        // Act: write, then an unpinned read (fills the cache), then the writer's pinned reads
+        User patched = userService.patchUser(created.getId(),
+                PatchUserRequest.builder().fullName("Patched User").build(), null);
+        User unpinned = userService.getUserById(created.getId());
+        User unpinnedByName = userService.getUserByUsername("lagging");
+        ReadYourWritesContext.pinToPrimary();
+        User pinned = userService.getUserById(created.getId());
+        long pinnedVersion = userService.getUserVersion(created.getId()).version();
+
+        // Assert
+        assertEquals("Patched User", unpinned.getFullName());
+        assertEquals("Patched User", unpinnedByName.getFullName());
+        assertEquals("Patched User", pinned.getFullName());
+        assertEquals(patched.getVersion(), pinnedVersion);
+    }
+
+    private static User user(String name) {
+        User user = new User();
+        user.setUserName(name);
+        user.setEmail(name + "@example.com");
+        user.setFullName("Routed User");
+        user.setRole(Role.DEVELOPER);
+        user.setActive(true);
+        return user;
+    }
+}
@@ -0,0 +1,79 @@
+package com.rdagdi.tasktrack.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Unit tests for replica routing as wired by ReadReplicaConfig.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource replica = mock(DataSource.class);
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replicaConnection = mock(Connection.class);
+
+    private DataSource routing;
+    private DataSourceTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        routing = new ReadReplicaConfig().dataSource(primary, replica);
+        transactionManager = new DataSourceTransactionManager(routing);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadYourWritesContext.clear();
+    }
+
+    @Test
+    @DisplayName("Read-only transactions should use the replica")
+    void readOnlyTransaction_UsesReplica() {
+        assertSame(replicaConnection, connectionIn(readOnly()));
+    }
+
+    @Test
+    @DisplayName("Read-write transactions should use the primary")
+    void readWriteTransaction_UsesPrimary() {
+        assertSame(primaryConnection, connectionIn(new TransactionTemplate(transactionManager)));
+    }
+
+    @Test
+    @DisplayName("Read-only transactions of a pinned request should use the primary")
+    void pinnedReadOnlyTransaction_UsesPrimary() {
+        // Arrange
+        ReadYourWritesContext.pinToPrimary();
+
+        // Act & Assert
+        assertSame(primaryConnection, connectionIn(readOnly()));
+    }
+
+    private TransactionTemplate readOnly() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+
+    // The physical connection the transaction ends up on once it runs a statement
+    private Connection connectionIn(TransactionTemplate template) {
+        return template.execute(status ->
+                ((ConnectionProxy) DataSourceUtils.getConnection(routing)).getTargetConnection());
+    }
+}
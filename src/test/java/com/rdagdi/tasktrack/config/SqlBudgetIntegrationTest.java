@@ -0,0 +1,95 @@
+package com.rdagdi.tasktrack.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import com.rdagdi.tasktrack.entity.User;
+import com.rdagdi.tasktrack.entity.User.Role;
+import com.rdagdi.tasktrack.service.UserService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * End-to-end check of the SQL budget.
+ *
+ * Sends real requests through MockMvc, with the Hibernate hooks counting the
+ * statements run against a real PostgreSQL (Testcontainers; skipped without
+ * Docker), and a budget of one statement so that PUT /api/users/{id} (one
+ * SELECT and one UPDATE) goes over it.
+ */
+@SpringBootTest(properties = "tasktrack.sql.budget.max-statements=1")
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+@ExtendWith(OutputCaptureExtension.class)
+class SqlBudgetIntegrationTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:16-alpine");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("A request over the statement budget should be logged and counted")
+    void overBudgetRequest(CapturedOutput output) throws Exception {
+        // Arrange
+        User user = new User();
+        user.setUserName("budget");
+        user.setEmail("budget@example.com");
+        user.setFullName("Budget User");
+        user.setRole(Role.DEVELOPER);
+        user.setActive(true);
+        User created = userService.createUser(user);
+        String body = """
+                {"userName":"budget","email":"budget@example.com","fullName":"Renamed","role":"TESTER","active":true}
+                """;
+
+        // Act: GET runs one SELECT (within budget), PUT runs a SELECT and an UPDATE
+        mockMvc.perform(get("/api/users/{id}", created.getId()).with(httpBasic("admin", "admin")))
+                .andExpect(status().isOk());
+        mockMvc.perform(put("/api/users/{id}", created.getId())
+                .with(httpBasic("admin", "admin")).with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(header().string(SqlStatsResponseAdvice.STATEMENTS_HEADER, "2"));
+
+        // Assert
+        assertEquals(1.0, exceeded("PUT").count());
+        assertNull(meterRegistry.find("tasktrack.sql.budget.exceeded").tag("method", "GET").counter());
+        assertTrue(output.getOut().contains(
+                "SQL budget exceeded by PUT /api/users/{id}: 2 statements (budget 1)"), output.getOut());
+    }
+
+    private Counter exceeded(String method) {
+        return meterRegistry.get("tasktrack.sql.budget.exceeded")
+                .tags("method", method, "uri", "/api/users/{id}")
+                .counter();
+    }
+}
@@ -0,0 +1,117 @@
+package com.rdagdi.tasktrack.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for SqlBudgetInterceptor and the Hibernate hooks feeding RequestSqlStats.
+ */
+class SqlBudgetInterceptorTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SqlBudgetInterceptor interceptor = new SqlBudgetInterceptor(registry, 3, 3,
+            Set.of("POST /api/users/batch"));
+    private final SqlStatementInspector inspector = new SqlStatementInspector();
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/api/users/1");
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @AfterEach
+    void tearDown() {
+        RequestSqlStats.end();
+    }
+
+    @Test
+    @DisplayName("Statements should be counted per request and recorded per endpoint pattern")
+    void afterCompletion_RecordsPerEndpoint() {
+        // Arrange
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/users/{id}");
+        interceptor.preHandle(request, response, null);
+        inspector.inspect("select u1_0.id from users u1_0 where u1_0.id=?");
+        inspector.inspect("update users set full_name=? where id=? and version=?");
+
+        // Act
+        interceptor.afterCompletion(request, response, null, null);
+
+        // Assert
+        assertEquals(2.0, registry.get("tasktrack.sql.statements")
+                .tags("method", "PUT", "uri", "/api/users/{id}").summary().totalAmount());
+        assertTrue(registry.find("tasktrack.sql.budget.exceeded").counters().isEmpty());
+        assertNull(RequestSqlStats.current());
+    }
+
+    @Test
+    @DisplayName("Requests over the statement budget should be flagged")
+    void afterCompletion_FlagsOverBudget() {
+        // Arrange
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/users/{id}");
+        interceptor.preHandle(request, response, null);
+        inspector.inspect("select 1");
+        inspector.inspect("select 2");
+        inspector.inspect("select 3");
+        inspector.inspect("update users set active=? where id=?");
+
+        // Act
+        interceptor.afterCompletion(request, response, null, null);
+
+        // Assert
+        assertEquals(1.0, registry.get("tasktrack.sql.budget.exceeded").counter().count());
+    }
+
+    @Test
+    @DisplayName("A statement repeated within a request should be flagged as a possible N+1")
+    void afterCompletion_FlagsRepeatedStatement() {
+        // Arrange
+        SqlBudgetInterceptor lenient = new SqlBudgetInterceptor(registry, 100, 3, Set.of());
+        lenient.preHandle(request, response, null);
+        RequestSqlStats stats = RequestSqlStats.current();
+        for (int i = 0; i < 3; i++) {
+            inspector.inspect("select u1_0.id\n  from users u1_0\n  where u1_0.id=?");
+        }
+
+        // Act
+        lenient.afterCompletion(request, response, null, null);
+
+        // Assert
+        assertEquals(1, stats.getShapes().size());
+        assertEquals(1.0, registry.get("tasktrack.sql.budget.exceeded").counter().count());
+    }
+
+    @Test
+    @DisplayName("Exempt endpoints should be measured but never flagged")
+    void afterCompletion_ExemptEndpoint() {
+        // Arrange
+        MockHttpServletRequest batch = new MockHttpServletRequest("POST", "/api/users/batch");
+        batch.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/users/batch");
+        interceptor.preHandle(batch, response, null);
+        for (int i = 0; i < 4; i++) {
+            inspector.inspect("select u1_0.id from users u1_0 where lower(u1_0.user_name) in (?,?)");
+            inspector.inspect("insert into users (id,user_name) values (?,?)");
+        }
+
+        // Act
+        interceptor.afterCompletion(batch, response, null, null);
+
+        // Assert
+        assertEquals(8.0, registry.get("tasktrack.sql.statements")
+                .tags("method", "POST", "uri", "/api/users/batch").summary().totalAmount());
+        assertTrue(registry.find("tasktrack.sql.budget.exceeded").counters().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Statements outside a tracked request should be ignored")
+    void inspect_WithoutRequestIsNoop() {
+        assertEquals("select 1", inspector.inspect("select 1"));
+        assertNull(RequestSqlStats.current());
+    }
+}
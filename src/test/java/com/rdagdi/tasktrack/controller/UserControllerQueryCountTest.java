@@ -0,0 +1,181 @@
+package com.rdagdi.tasktrack.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import com.rdagdi.tasktrack.config.SqlStatsResponseAdvice;
+import com.rdagdi.tasktrack.entity.User;
+import com.rdagdi.tasktrack.entity.User.Role;
+import com.rdagdi.tasktrack.service.UserService;
+
+/**
+ * Query-count regression tests for UserController.
+ *
+ * Calls each endpoint through MockMvc against a real PostgreSQL
+ * (Testcontainers; skipped without Docker) and asserts the statement and
+ * round-trip headers added by the SQL budget tracking. As in
+ * UserServiceQueryCountTest, users_seq calls are left out of the expected
+ * counts; the headers have no statement shapes, so they are found from how
+ * far the sequence moved during the request.
+ */
+@SpringBootTest(properties = "tasktrack.users.batch-loader.window=0")
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class UserControllerQueryCountTest {
+
+    // INCREMENT BY of users_seq (V1__baseline_users.sql), i.e. the User allocationSize
+    private static final int ID_BLOCK_SIZE = 50;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:16-alpine");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private int userCount;
+
+    @BeforeAll
+    void warmUp() {
+        // Loads the stats counters, and moves users_seq past its start value
+        // so that every later nextval advances last_value
+        newUser();
+        userService.getUserStats();
+    }
+
+    @Test
+    @DisplayName("POST /api/users should run one INSERT")
+    void createUser() throws Exception {
+        String name = nextName();
+        String body = """
+                {"userName":"%s","email":"%s@example.com","fullName":"Query Count","role":"DEVELOPER"}
+                """.formatted(name, name);
+
+        expectQueries(post("/api/users").contentType(MediaType.APPLICATION_JSON).content(body), 1, 1);
+    }
+
+    @Test
+    @DisplayName("GET /api/users/{id} should run one SELECT, then none from the cache")
+    void getUserById() throws Exception {
+        User user = newUser();
+
+        expectQueries(get("/api/users/{id}", user.getId()), 1, 1);
+        expectQueries(get("/api/users/{id}", user.getId()), 0, 0);
+    }
+
+    @Test
+    @DisplayName("List endpoints should run one SELECT each")
+    void lists() throws Exception {
+        expectQueries(get("/api/users").param("size", "10"), 1, 1);
+        expectQueries(get("/api/users/active").param("size", "10"), 1, 1);
+        expectQueries(get("/api/users/role/{role}", Role.DEVELOPER).param("size", "10"), 1, 1);
+        expectQueries(get("/api/users/search").param("q", "Query Count"), 1, 1);
+    }
+
+    @Test
+    @DisplayName("GET /api/users/stats should be served without queries")
+    void stats() throws Exception {
+        expectQueries(get("/api/users/stats"), 0, 0);
+    }
+
+    @Test
+    @DisplayName("PUT /api/users/{id} should run one SELECT and one UPDATE")
+    void updateUser() throws Exception {
+        User user = newUser();
+        String body = """
+                {"userName":"%s","email":"%s","fullName":"Renamed","role":"TESTER","active":true}
+                """.formatted(user.getUserName(), user.getEmail());
+
+        expectQueries(put("/api/users/{id}", user.getId()).contentType(MediaType.APPLICATION_JSON).content(body),
+                2, 2);
+    }
+
+    @Test
+    @DisplayName("PATCH /api/users/{id} should run one SELECT and one UPDATE")
+    void patchUser() throws Exception {
+        User user = newUser();
+
+        expectQueries(patch("/api/users/{id}", user.getId())
+                .header("If-Match", "\"" + user.getVersion() + "\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"fullName\":\"Patched\"}"), 2, 2);
+    }
+
+    @Test
+    @DisplayName("DELETE and reactivate should run one UPDATE ... RETURNING each")
+    void deleteAndReactivate() throws Exception {
+        User user = newUser();
+
+        expectQueries(delete("/api/users/{id}", user.getId()), 1, 1);
+        expectQueries(put("/api/users/{id}/reactivate", user.getId()), 1, 1);
+    }
+
+    // ========== HELPERS ==========
+
+    private void expectQueries(MockHttpServletRequestBuilder request, int statements, int roundTrips)
+            throws Exception {
+        long sequenceBefore = sequenceValue();
+        MvcResult result = mockMvc.perform(request.with(httpBasic("admin", "admin")).with(csrf()))
+                .andExpect(status().is2xxSuccessful())
+                .andReturn();
+        // One statement and round trip per nextval, each of which advances the sequence by its increment
+        int sequenceCalls = (int) ((sequenceValue() - sequenceBefore) / ID_BLOCK_SIZE);
+
+        assertEquals(statements, headerValue(result, SqlStatsResponseAdvice.STATEMENTS_HEADER) - sequenceCalls,
+                "statements");
+        assertEquals(roundTrips, headerValue(result, SqlStatsResponseAdvice.ROUND_TRIPS_HEADER) - sequenceCalls,
+                "round trips");
+    }
+
+    private long sequenceValue() {
+        return jdbcTemplate.queryForObject("SELECT last_value FROM users_seq", Long.class);
+    }
+
+    private static int headerValue(MvcResult result, String name) {
+        String value = result.getResponse().getHeader(name);
+        assertNotNull(value, name);
+        return Integer.parseInt(value);
+    }
+
+    private User newUser() {
+        String name = nextName();
+        User user = new User();
+        user.setUserName(name);
+        user.setEmail(name + "@example.com");
+        user.setFullName("Query Count " + name);
+        user.setRole(Role.DEVELOPER);
+        user.setActive(true);
+        return userService.createUser(user);
+    }
+
+    private String nextName() {
+        return "qcc" + (++userCount);
+    }
+}
@@ -0,0 +1,85 @@
+package com.rdagdi.tasktrack.exception;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.bind.MissingServletRequestParameterException;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+
+import com.rdagdi.tasktrack.dto.ErrorResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for GlobalExceptionHandler.
+ */
+class GlobalExceptionHandlerTest {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler(new SimpleMeterRegistry());
+
+    private final WebRequest request = new ServletWebRequest(new MockHttpServletRequest("GET", "/api/users"));
+
+    @Test
+    @DisplayName("Unparseable and missing parameters should be 400 naming the parameter")
+    void handleMalformedRequest_Parameters() throws Exception {
+        // Arrange
+        MethodParameter sizeParameter = new MethodParameter(
+                GlobalExceptionHandlerTest.class.getDeclaredMethod("page", int.class), 0);
+        MethodArgumentTypeMismatchException mismatch = new MethodArgumentTypeMismatchException(
+                "abc", int.class, "size", sizeParameter, new NumberFormatException("abc"));
+
+        // Act
+        ResponseEntity<ErrorResponse> badSize = handler.handleMalformedRequest(mismatch, request);
+        ResponseEntity<ErrorResponse> missingQuery = handler.handleMalformedRequest(
+                new MissingServletRequestParameterException("q", "String"), request);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, badSize.getStatusCode());
+        assertEquals("Invalid value for parameter 'size'", badSize.getBody().getMessage());
+        assertEquals(HttpStatus.BAD_REQUEST, missingQuery.getStatusCode());
+        assertEquals("Required parameter 'q' is missing", missingQuery.getBody().getMessage());
+    }
+
+    @Test
+    @DisplayName("An unreadable body should be 400 without echoing the parser message")
+    void handleMalformedRequest_Body() {
+        // Arrange
+        HttpMessageNotReadableException ex = new HttpMessageNotReadableException(
+                "Unexpected character ('}' (code 125))", new MockHttpInputMessage(new byte[0]));
+
+        // Act
+        ResponseEntity<ErrorResponse> response = handler.handleMalformedRequest(ex, request);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("Malformed request body", response.getBody().getMessage());
+    }
+
+    @Test
+    @DisplayName("Database timeouts should be 503 with Retry-After")
+    void handleDatabaseTimeout() {
+        // Act
+        ResponseEntity<ErrorResponse> response = handler.handleDatabaseTimeout(
+                new QueryTimeoutException("canceling statement due to statement timeout"), request);
+
+        // Assert
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    // Handler signature for the type-mismatch parameter
+    @SuppressWarnings("unused")
+    private void page(int size) {
+    }
+}
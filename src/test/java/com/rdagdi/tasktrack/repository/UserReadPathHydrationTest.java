@@ -0,0 +1,160 @@
+package com.rdagdi.tasktrack.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import com.rdagdi.tasktrack.dto.UserMapper;
+import com.rdagdi.tasktrack.entity.User;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Measures a 100k-row keyset page read through Hibernate as managed entities
+ * (what the list endpoints did before they read UserView projections) and as
+ * UserView records.
+ *
+ * Runs against a real PostgreSQL (Testcontainers; skipped without Docker)
+ * with Hibernate statistics on. Each read path runs in its own transaction
+ * on this thread, and reports the entities Hibernate loaded, the bytes the
+ * thread allocated and the elapsed time of the fastest of RUNS runs.
+ * Allocation and entity counts are asserted; times are only logged, see
+ * docs/benchmarks/jmh.md for the numbers.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Testcontainers(disabledWithoutDocker = true)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class UserReadPathHydrationTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserReadPathHydrationTest.class);
+
+    private static final int PAGE_ROWS = 100_000;
+    private static final int RUNS = 5;
+
+    // The entity finder the list endpoints used before (findByIdGreaterThanOrderByIdAsc)
+    private static final String ENTITY_PAGE = "select u from User u where u.id > :afterId order by u.id";
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:16-alpine");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private record Measurement(String path, long entitiesLoaded, long allocatedBytes, long nanos) {
+
+        long bytesPerRow() {
+            return allocatedBytes / PAGE_ROWS;
+        }
+    }
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("""
+                INSERT INTO users (id, user_name, email, full_name, role, active, created_at, updated_at)
+                SELECT i, 'user' || i, 'user' || i || '@example.com', 'Name ' || md5(i::text), 'DEVELOPER', true,
+                       TIMESTAMP '2024-01-01' + i * INTERVAL '20 minutes',
+                       TIMESTAMP '2024-01-01' + i * INTERVAL '20 minutes'
+                FROM generate_series(1, ?) AS i
+                """, PAGE_ROWS);
+        jdbcTemplate.execute("VACUUM ANALYZE users");
+    }
+
+    @Test
+    @DisplayName("A 100k-row page should load no entities and allocate least as UserView projections")
+    void projectionPageVsEntityPage() {
+        // Act
+        Measurement managed = measure("managed entities + UserDTO", false, () -> UserMapper.toDTOList(
+                entityManager.createQuery(ENTITY_PAGE, User.class)
+                        .setParameter("afterId", 0L)
+                        .setMaxResults(PAGE_ROWS)
+                        .getResultList()));
+        Measurement readOnly = measure("read-only entities + UserDTO", true, () -> UserMapper.toDTOList(
+                entityManager.createQuery(ENTITY_PAGE, User.class)
+                        .setParameter("afterId", 0L)
+                        .setMaxResults(PAGE_ROWS)
+                        .getResultList()));
+        Measurement projection = measure("UserView projection", true,
+                () -> userRepository.findViewsAfter(0L, Limit.of(PAGE_ROWS)));
+
+        for (Measurement m : List.of(managed, readOnly, projection)) {
+            logger.info("{}: {} entities loaded, {} bytes allocated ({} per row), {} ms",
+                    m.path(), m.entitiesLoaded(), m.allocatedBytes(), m.bytesPerRow(), m.nanos() / 1_000_000);
+        }
+
+        // Assert
+        assertEquals(PAGE_ROWS, managed.entitiesLoaded());
+        assertEquals(PAGE_ROWS, readOnly.entitiesLoaded());
+        assertEquals(0, projection.entitiesLoaded());
+        assertTrue(projection.allocatedBytes() < readOnly.allocatedBytes(),
+                "projection allocated " + projection.allocatedBytes() + " bytes, read-only entities "
+                        + readOnly.allocatedBytes());
+        assertTrue(readOnly.allocatedBytes() < managed.allocatedBytes(),
+                "read-only entities allocated " + readOnly.allocatedBytes() + " bytes, managed entities "
+                        + managed.allocatedBytes());
+    }
+
+    /**
+     * Runs the read RUNS times, each in a new transaction, and keeps the run
+     * with the least allocation and the fastest time (the first runs include
+     * class loading and JIT warm-up).
+     */
+    private Measurement measure(String path, boolean readOnlyTransaction, Supplier<List<?>> read) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnlyTransaction);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        long entitiesLoaded = 0;
+        long allocatedBytes = Long.MAX_VALUE;
+        long nanos = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            statistics.clear();
+            long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+
+            int rows = transaction.execute(status -> read.get().size());
+
+            nanos = Math.min(nanos, System.nanoTime() - start);
+            allocatedBytes = Math.min(allocatedBytes, threads.getCurrentThreadAllocatedBytes() - allocatedBefore);
+            entitiesLoaded = statistics.getEntityLoadCount();
+            assertEquals(PAGE_ROWS, rows);
+        }
+        return new Measurement(path, entitiesLoaded, allocatedBytes, nanos);
+    }
+}
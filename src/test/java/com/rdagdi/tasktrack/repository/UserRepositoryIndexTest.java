@@ -0,0 +1,142 @@
+package com.rdagdi.tasktrack.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+/**
+ * Checks that the Flyway-managed indexes serve the UserRepository queries.
+ *
+ * Runs against a real PostgreSQL (Testcontainers; skipped without Docker),
+ * seeds a skewed users table, and asserts that EXPLAIN for each repository
+ * query shape uses the expected index instead of a sequential scan.
+ * The SQL mirrors what Hibernate generates for each method, with literal
+ * values so the planner sees the real selectivity.
+ */
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class UserRepositoryIndexTest {
+
+    private static final int SEED_ROWS = 50_000;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:16-alpine");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seed() {
+        // 1% ADMIN, 4% PROJECT_MANAGER, 15% TESTER, 80% DEVELOPER; 5% inactive;
+        // one signup every 20 minutes from 2024-01-01 (about two years)
+        jdbcTemplate.update("""
+                INSERT INTO users (id, user_name, email, full_name, role, active, created_at, updated_at)
+                SELECT i, 'user' || i, 'user' || i || '@example.com', 'Name ' || md5(i::text),
+                       CASE WHEN i % 100 = 0 THEN 'ADMIN'
+                            WHEN i % 100 < 5 THEN 'PROJECT_MANAGER'
+                            WHEN i % 100 < 20 THEN 'TESTER'
+                            ELSE 'DEVELOPER' END,
+                       i % 20 <> 0,
+                       TIMESTAMP '2024-01-01' + i * INTERVAL '20 minutes',
+                       TIMESTAMP '2024-01-01' + i * INTERVAL '20 minutes'
+                FROM generate_series(1, ?) AS i
+                """, SEED_ROWS);
+        jdbcTemplate.execute("VACUUM ANALYZE users");
+    }
+
+    static Stream<Arguments> repositoryQueries() {
+        return Stream.of(
+                Arguments.of("findByUserName",
+                        "select * from users where lower(user_name) = lower('User42')",
+                        List.of("uk_users_user_name")),
+                Arguments.of("findByEmail",
+                        "select * from users where lower(email) = lower('User42@Example.com')",
+                        List.of("uk_users_email")),
+                Arguments.of("findExistingUserNames",
+                        "select lower(user_name) from users where lower(user_name) in ('user1', 'user2', 'nobody')",
+                        List.of("uk_users_user_name")),
+                Arguments.of("findByActive(false)",
+                        "select * from users where active = false",
+                        List.of("idx_users_active_id")),
+                Arguments.of("countByActive(false)",
+                        "select count(*) from users where active = false",
+                        List.of("idx_users_active_id")),
+                Arguments.of("findByRole(ADMIN)",
+                        "select * from users where role = 'ADMIN'",
+                        List.of("idx_users_role_id")),
+                Arguments.of("countByRole(ADMIN)",
+                        "select count(*) from users where role = 'ADMIN'",
+                        List.of("idx_users_role_id")),
+                Arguments.of("findByActiveAndRole(true, ADMIN)",
+                        "select * from users where active = true and role = 'ADMIN'",
+                        List.of("idx_users_active_role_id", "idx_users_role_id")),
+                Arguments.of("findViewsByActiveAfter(false)",
+                        "select * from users where active = false and id > 1000 order by id limit 51",
+                        List.of("idx_users_active_id")),
+                Arguments.of("findViewsByRoleAfter(ADMIN)",
+                        "select * from users where role = 'ADMIN' and id > 1000 order by id limit 51",
+                        List.of("idx_users_role_id")),
+                Arguments.of("findPageVersionByActiveAfter(false)",
+                        UserRepository.PAGE_VERSION_SELECT.replace(":size", "50")
+                                + "WHERE active = false AND id > 1000"
+                                + UserRepository.PAGE_VERSION_END.replace(":size", "50"),
+                        List.of("idx_users_active_id")),
+                Arguments.of("findByCreatedAtBetween",
+                        "select * from users where created_at between '2024-03-01' and '2024-03-08'",
+                        List.of("idx_users_created_at")),
+                Arguments.of("findByCreatedAtAfter",
+                        "select * from users where created_at > '2025-11-01'",
+                        List.of("idx_users_created_at")),
+                Arguments.of("countSignupsByBucketAndRole",
+                        "select date_trunc('day', created_at), role, count(*) from users "
+                                + "where created_at >= '2024-03-01' and created_at < '2024-04-01' group by 1, 2",
+                        List.of("idx_users_created_at")),
+                Arguments.of("searchByFullName",
+                        "select id, word_similarity('" + md5Prefix(4242) + "', full_name) as score from users "
+                                + "where '" + md5Prefix(4242) + "' <% full_name order by score desc, id limit 20",
+                        List.of("idx_users_full_name_trgm")));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositoryQueries")
+    @DisplayName("Repository query plans should use an index")
+    void queryPlan_UsesIndex(String method, String sql, List<String> expectedIndexes) {
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+
+        assertFalse(plan.contains("Seq Scan"), method + " uses a sequential scan:\n" + plan);
+        assertTrue(expectedIndexes.stream().anyMatch(plan::contains),
+                method + " uses none of " + expectedIndexes + ":\n" + plan);
+    }
+
+    // First 12 hex characters of md5(i), i.e. part of the seeded full name of user i
+    private static String md5Prefix(int i) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5")
+                    .digest(Integer.toString(i).getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(digest, 0, 6);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.rdagdi.tasktrack.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for PrefixTrie.
+ */
+class PrefixTrieTest {
+
+    private PrefixTrie<String> trie;
+
+    @BeforeEach
+    void setUp() {
+        trie = new PrefixTrie<>();
+        trie.put("alice", "alice");
+        trie.put("alice@example.com", "alice");
+        trie.put("alfred", "alfred");
+        trie.put("bob", "bob");
+    }
+
+    @Test
+    @DisplayName("Should return distinct values for a prefix in key order")
+    void findByPrefix_DistinctInOrder() {
+        assertEquals(List.of("alfred", "alice"), trie.findByPrefix("al", 10));
+        assertEquals(List.of("bob"), trie.findByPrefix("b", 10));
+        assertTrue(trie.findByPrefix("z", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should stop at the limit")
+    void findByPrefix_Limit() {
+        assertEquals(List.of("alfred"), trie.findByPrefix("a", 1));
+    }
+
+    @Test
+    @DisplayName("Should remove a value from one key and keep the others")
+    void remove_PrunesKey() {
+        assertTrue(trie.remove("alice", "alice"));
+        assertFalse(trie.remove("alice", "alice"));
+
+        // Still reachable through its email key
+        assertEquals(List.of("alice"), trie.findByPrefix("alice", 10));
+
+        assertTrue(trie.remove("alice@example.com", "alice"));
+        assertEquals(List.of("alfred"), trie.findByPrefix("al", 10));
+    }
+}
@@ -0,0 +1,145 @@
+package com.rdagdi.tasktrack.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.rdagdi.tasktrack.dto.SignupReport;
+import com.rdagdi.tasktrack.entity.User.Role;
+import com.rdagdi.tasktrack.repository.SignupBucketRow;
+import com.rdagdi.tasktrack.repository.UserRepository;
+import com.rdagdi.tasktrack.service.SignupReportService.Granularity;
+
+/**
+ * Unit tests for SignupReportService.
+ */
+class SignupReportServiceTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+
+    private final SignupReportService service = new SignupReportService(userRepository, 1000, 1000, Duration.ZERO);
+
+    private static SignupBucketRow row(LocalDateTime bucket, Role role, long count) {
+        return new SignupBucketRow() {
+            @Override
+            public LocalDateTime getBucket() {
+                return bucket;
+            }
+
+            @Override
+            public Role getRole() {
+                return role;
+            }
+
+            @Override
+            public Long getCount() {
+                return count;
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("Should widen the range to whole buckets and fill empty buckets")
+    void getSignupReport_FillsBuckets() {
+        // Arrange
+        LocalDateTime day = LocalDateTime.of(2024, 3, 1, 0, 0);
+        when(userRepository.countSignupsByBucketAndRole(eq("day"), any(), any())).thenReturn(List.of(
+                row(day, Role.DEVELOPER, 3),
+                row(day, Role.ADMIN, 1),
+                row(day.plusDays(2), Role.TESTER, 2)));
+
+        // Act
+        SignupReport report = service.getSignupReport(Granularity.DAY,
+                day.plusHours(5), day.plusDays(2).plusHours(1), true);
+
+        // Assert
+        assertEquals(day, report.getFrom());
+        assertEquals(day.plusDays(3), report.getTo());
+        assertEquals(6, report.getTotal());
+        assertEquals(3, report.getBuckets().size());
+        assertEquals(4, report.getBuckets().get(0).getCount());
+        assertEquals(3L, report.getBuckets().get(0).getByRole().get(Role.DEVELOPER));
+        assertEquals(0, report.getBuckets().get(1).getCount());
+        assertEquals(2, report.getBuckets().get(2).getCount());
+        verify(userRepository).countSignupsByBucketAndRole("day", day, day.plusDays(3));
+    }
+
+    @Test
+    @DisplayName("Closed buckets should be served from the cache on repeated loads")
+    void getSignupReport_CachesClosedBuckets() {
+        // Arrange
+        LocalDateTime from = LocalDateTime.of(2024, 3, 1, 0, 0);
+        when(userRepository.countSignupsByBucketAndRole(any(), any(), any()))
+                .thenReturn(List.of(row(from, Role.DEVELOPER, 3)));
+
+        // Act
+        service.getSignupReport(Granularity.DAY, from, from.plusDays(7), false);
+        SignupReport report = service.getSignupReport(Granularity.DAY, from, from.plusDays(7), false);
+
+        // Assert
+        assertEquals(3, report.getTotal());
+        assertNull(report.getBuckets().get(0).getByRole());
+        verify(userRepository, times(1)).countSignupsByBucketAndRole(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Only the open bucket should be recomputed once closed buckets are cached")
+    void getSignupReport_RecomputesOpenBucket() {
+        // Arrange
+        LocalDateTime currentDay = Granularity.DAY.truncate(LocalDateTime.now());
+        LocalDateTime from = currentDay.minusDays(3);
+        when(userRepository.countSignupsByBucketAndRole(any(), any(), any())).thenReturn(List.of());
+
+        // Act
+        service.getSignupReport(Granularity.DAY, from, currentDay.plusDays(1), false);
+        service.getSignupReport(Granularity.DAY, from, currentDay.plusDays(1), false);
+
+        // Assert
+        verify(userRepository, times(1)).countSignupsByBucketAndRole("day", from, currentDay);
+        verify(userRepository, times(2)).countSignupsByBucketAndRole("day", currentDay, currentDay.plusDays(1));
+    }
+
+    @Test
+    @DisplayName("Buckets that closed within the grace period should not be cached")
+    void getSignupReport_RecomputesBucketsWithinGrace() {
+        // Arrange
+        SignupReportService graceService = new SignupReportService(userRepository, 1000, 1000, Duration.ofDays(2));
+        LocalDateTime currentDay = Granularity.DAY.truncate(LocalDateTime.now());
+        LocalDateTime from = currentDay.minusDays(5);
+        when(userRepository.countSignupsByBucketAndRole(any(), any(), any())).thenReturn(List.of());
+
+        // Act
+        graceService.getSignupReport(Granularity.DAY, from, currentDay.plusDays(1), false);
+        graceService.getSignupReport(Granularity.DAY, from, currentDay.plusDays(1), false);
+
+        // Assert
+        verify(userRepository, times(1)).countSignupsByBucketAndRole("day", from, currentDay.minusDays(2));
+        verify(userRepository, times(2)).countSignupsByBucketAndRole("day", currentDay.minusDays(2), currentDay.plusDays(1));
+    }
+
+    @Test
+    @DisplayName("Should reject ranges with too many buckets")
+    void getSignupReport_TooManyBuckets() {
+        LocalDateTime from = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> service.getSignupReport(Granularity.HOUR, from, from.plusYears(1), false));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("Should bucket weeks from Monday like date_trunc('week')")
+    void granularity_WeekStartsOnMonday() {
+        // 2024-03-07 is a Thursday
+        assertEquals(LocalDateTime.of(2024, 3, 4, 0, 0),
+                Granularity.WEEK.truncate(LocalDateTime.of(2024, 3, 7, 15, 30)));
+    }
+}
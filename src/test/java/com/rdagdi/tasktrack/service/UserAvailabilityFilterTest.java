@@ -0,0 +1,93 @@
+package com.rdagdi.tasktrack.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import com.rdagdi.tasktrack.entity.User;
+import com.rdagdi.tasktrack.repository.UserRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for UserAvailabilityFilter.
+ */
+class UserAvailabilityFilterTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final UserAvailabilityFilter filter = new UserAvailabilityFilter(userRepository, transactionManager,
+            new SimpleMeterRegistry(), 1000, 0.01, 10);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Users added inside a transaction should only be recorded once it commits")
+    void add_AppliedAfterCommit() {
+        // Arrange
+        when(userRepository.streamAllIdentities()).thenReturn(Stream.empty());
+        filter.rebuild();
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        filter.add(user("alice"));
+        boolean beforeCommit = filter.mightContainUserName("alice");
+        TransactionSynchronizationUtils.triggerAfterCommit();
+
+        // Assert
+        assertFalse(beforeCommit);
+        assertTrue(filter.mightContainUserName("ALICE"));
+        assertTrue(filter.mightContainEmail("alice@example.com"));
+    }
+
+    @Test
+    @DisplayName("A user committed while the rebuild reads should be in the rebuilt filter")
+    void rebuild_KeepsConcurrentWrites() {
+        // Arrange: "bob" commits after the rebuild started reading, so the stream misses him
+        Object[] alice = { "alice", "alice@example.com" };
+        when(userRepository.streamAllIdentities()).thenAnswer(invocation -> Stream.<Object[]>of(alice)
+                .peek(row -> filter.add(user("bob"))));
+
+        // Act
+        filter.rebuild();
+
+        // Assert
+        assertTrue(filter.mightContainUserName("alice"));
+        assertTrue(filter.mightContainUserName("bob"));
+        assertTrue(filter.mightContainEmail("bob@example.com"));
+    }
+
+    @Test
+    @DisplayName("Rebuild should read in a read-write transaction so it is not routed to a replica")
+    void rebuild_ReadsFromPrimary() {
+        // Arrange
+        when(userRepository.streamAllIdentities()).thenReturn(Stream.empty());
+
+        // Act
+        filter.rebuild();
+
+        // Assert
+        verify(transactionManager).getTransaction(argThat(definition -> !definition.isReadOnly()));
+    }
+
+    private static User user(String name) {
+        User user = new User();
+        user.setUserName(name);
+        user.setEmail(name + "@example.com");
+        return user;
+    }
+}
@@ -0,0 +1,142 @@
+package com.rdagdi.tasktrack.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.rdagdi.tasktrack.config.RequestSqlStats;
+import com.rdagdi.tasktrack.config.SqlStatementInspector;
+import com.rdagdi.tasktrack.entity.User;
+import com.rdagdi.tasktrack.repository.UserRepository;
+
+/**
+ * Unit tests for UserBatchLoader.
+ */
+class UserBatchLoaderTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    private static User user(long id) {
+        User user = new User();
+        user.setId(id);
+        return user;
+    }
+
+    @Test
+    @DisplayName("Concurrent loads within the window should share one query")
+    void load_CoalescesConcurrentCalls() throws Exception {
+        // Arrange
+        when(userRepository.findAllById(any())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().filter(id -> id != 3L).map(UserBatchLoaderTest::user).toList();
+        });
+        UserBatchLoader loader = new UserBatchLoader(userRepository, transactionManager, Duration.ofMillis(200), 100);
+
+        // Act
+        List<CompletableFuture<Optional<User>>> results = List.of(1L, 2L, 3L, 1L).stream()
+                .map(id -> CompletableFuture.supplyAsync(() -> loader.load(id)))
+                .toList();
+
+        // Assert
+        assertEquals(1L, results.get(0).get(5, TimeUnit.SECONDS).orElseThrow().getId());
+        assertEquals(2L, results.get(1).get(5, TimeUnit.SECONDS).orElseThrow().getId());
+        assertTrue(results.get(2).get(5, TimeUnit.SECONDS).isEmpty());
+        assertEquals(1L, results.get(3).get(5, TimeUnit.SECONDS).orElseThrow().getId());
+        verify(userRepository, times(1)).findAllById(any());
+    }
+
+    @Test
+    @DisplayName("Callers waiting on the same id should each get their own copy")
+    void load_CopiesPerCaller() throws Exception {
+        // Arrange
+        when(userRepository.findAllById(any())).thenReturn(List.of(user(1L)));
+        UserBatchLoader loader = new UserBatchLoader(userRepository, transactionManager, Duration.ofMillis(200), 100);
+
+        // Act
+        CompletableFuture<Optional<User>> first = CompletableFuture.supplyAsync(() -> loader.load(1L));
+        CompletableFuture<Optional<User>> second = CompletableFuture.supplyAsync(() -> loader.load(1L));
+        User firstUser = first.get(5, TimeUnit.SECONDS).orElseThrow();
+        User secondUser = second.get(5, TimeUnit.SECONDS).orElseThrow();
+        firstUser.setFullName("Changed");
+
+        // Assert
+        assertNotSame(firstUser, secondUser);
+        assertEquals(1L, secondUser.getId());
+        assertNull(secondUser.getFullName());
+        verify(userRepository, times(1)).findAllById(any());
+    }
+
+    @Test
+    @DisplayName("The batch query should be counted in the SQL stats of each waiting request")
+    void load_AttributesBatchQueryToCaller() {
+        // Arrange
+        SqlStatementInspector inspector = new SqlStatementInspector();
+        when(userRepository.findAllById(any())).thenAnswer(invocation -> {
+            inspector.inspect("select u1_0.id from users u1_0 where u1_0.id in (?)");
+            return List.of(user(1L));
+        });
+        UserBatchLoader loader = new UserBatchLoader(userRepository, transactionManager, Duration.ofMillis(1), 100);
+        RequestSqlStats stats = RequestSqlStats.begin();
+
+        // Act
+        try {
+            loader.load(1L);
+        } finally {
+            RequestSqlStats.end();
+        }
+
+        // Assert
+        assertEquals(1, stats.getStatements());
+        assertEquals(1, stats.getShapes().size());
+    }
+
+    @Test
+    @DisplayName("Batches should be read in a read-write transaction, i.e. from the primary")
+    void load_ReadsPrimary() {
+        // Arrange
+        when(userRepository.findAllById(any())).thenReturn(List.of(user(1L)));
+        UserBatchLoader loader = new UserBatchLoader(userRepository, transactionManager, Duration.ofMillis(1), 100);
+
+        // Act
+        loader.load(1L);
+
+        // Assert
+        verify(transactionManager).getTransaction(argThat(definition -> !definition.isReadOnly()));
+    }
+
+    @Test
+    @DisplayName("A zero window should fall back to a direct findById")
+    void load_DisabledWindow() {
+        // Arrange
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user(1L)));
+        UserBatchLoader loader = new UserBatchLoader(userRepository, transactionManager, Duration.ZERO, 100);
+
+        // Act & Assert
+        assertEquals(1L, loader.load(1L).orElseThrow().getId());
+        verify(userRepository, never()).findAllById(any());
+    }
+
+    @Test
+    @DisplayName("Query failures should propagate to every waiting caller")
+    void load_PropagatesFailure() {
+        // Arrange
+        when(userRepository.findAllById(any())).thenThrow(new IllegalStateException("database down"));
+        UserBatchLoader loader = new UserBatchLoader(userRepository, transactionManager, Duration.ofMillis(1), 100);
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> loader.load(1L));
+    }
+}
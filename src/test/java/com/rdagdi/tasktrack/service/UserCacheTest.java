@@ -0,0 +1,135 @@
+package com.rdagdi.tasktrack.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.rdagdi.tasktrack.entity.User;
+import com.rdagdi.tasktrack.entity.User.Role;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for UserCache.
+ */
+class UserCacheTest {
+
+    private UserCache userCache;
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        userCache = new UserCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(1));
+
+        testUser = new User();
+        testUser.setId(1L);
+        testUser.setUserName("testuser");
+        testUser.setEmail("test@example.com");
+        testUser.setFullName("Test User");
+        testUser.setRole(Role.DEVELOPER);
+        testUser.setActive(true);
+    }
+
+    @Test
+    @DisplayName("One put should serve lookups by id, username and email")
+    void put_IndexesAllKeys() {
+        userCache.put(testUser);
+
+        assertEquals(1L, userCache.getById(1L).orElseThrow().getId());
+        assertEquals(1L, userCache.getByUserName("testuser").orElseThrow().getId());
+        assertEquals(1L, userCache.getByEmail("test@example.com").orElseThrow().getId());
+    }
+
+    @Test
+    @DisplayName("Username and email lookups should ignore case")
+    void lookups_IgnoreCase() {
+        userCache.put(testUser);
+
+        assertEquals(1L, userCache.getByUserName("TestUser").orElseThrow().getId());
+        assertEquals(1L, userCache.getByEmail("Test@Example.com").orElseThrow().getId());
+    }
+
+    @Test
+    @DisplayName("Evict should remove the user from every index")
+    void evict_RemovesAllKeys() {
+        userCache.put(testUser);
+
+        userCache.evict(1L, 1L);
+
+        assertTrue(userCache.getById(1L).isEmpty());
+        assertTrue(userCache.getByUserName("testuser").isEmpty());
+        assertTrue(userCache.getByEmail("test@example.com").isEmpty());
+    }
+
+    @Test
+    @DisplayName("A row loaded before a committed write should not be cached after the eviction")
+    void put_OlderThanEvictedVersion() {
+        // Arrange: loaded at version 0, then a write commits version 1
+        User loadedBeforeWrite = testUser;
+        userCache.evict(1L, 1L);
+
+        // Act
+        userCache.put(loadedBeforeWrite);
+
+        // Assert
+        assertTrue(userCache.getById(1L).isEmpty());
+        assertTrue(userCache.getByUserName("testuser").isEmpty());
+    }
+
+    @Test
+    @DisplayName("The committed version and later ones should still be cached after an eviction")
+    void put_CommittedVersionAfterEvict() {
+        // Arrange
+        userCache.evict(1L, 1L);
+        testUser.setVersion(1L);
+
+        // Act
+        userCache.put(testUser);
+
+        // Assert
+        assertEquals(1L, userCache.getById(1L).orElseThrow().getVersion());
+    }
+
+    @Test
+    @DisplayName("An older row should not replace a newer cached one")
+    void put_DoesNotReplaceNewerVersion() {
+        // Arrange
+        testUser.setVersion(2L);
+        userCache.put(testUser);
+        User older = userCache.getById(1L).orElseThrow();
+        older.setVersion(1L);
+        older.setFullName("Older");
+
+        // Act
+        userCache.put(older);
+
+        // Assert
+        assertEquals("Test User", userCache.getById(1L).orElseThrow().getFullName());
+    }
+
+    @Test
+    @DisplayName("Re-caching a renamed user should drop the old username key")
+    void put_RenamedUser() {
+        userCache.put(testUser);
+        testUser.setUserName("renamed");
+
+        userCache.put(testUser);
+
+        assertTrue(userCache.getByUserName("testuser").isEmpty());
+        assertEquals(1L, userCache.getByUserName("renamed").orElseThrow().getId());
+    }
+
+    @Test
+    @DisplayName("Cached users should be copies that callers cannot mutate")
+    void getById_ReturnsCopy() {
+        userCache.put(testUser);
+
+        userCache.getById(1L).orElseThrow().setFullName("Changed");
+
+        assertEquals("Test User", userCache.getById(1L).orElseThrow().getFullName());
+    }
+}
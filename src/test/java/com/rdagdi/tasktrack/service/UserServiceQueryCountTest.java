@@ -0,0 +1,251 @@
+package com.rdagdi.tasktrack.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import com.rdagdi.tasktrack.config.RequestSqlStats;
+import com.rdagdi.tasktrack.dto.PatchUserRequest;
+import com.rdagdi.tasktrack.entity.User;
+import com.rdagdi.tasktrack.entity.User.Role;
+
+/**
+ * Query-count regression tests for UserService.
+ *
+ * Runs each public method against a real PostgreSQL (Testcontainers; skipped
+ * without Docker) and asserts the exact number of statements and round trips
+ * recorded by RequestSqlStats, so a change that adds queries to a hot path
+ * fails like a functional bug. The batch loader window is disabled so that
+ * getUserById queries on the calling thread.
+ *
+ * Inserts fetch ids from users_seq one block of 50 at a time, so whether a
+ * given insert also runs a nextval depends on how many users were created
+ * before it. Sequence calls are therefore left out of the expected counts.
+ */
+@SpringBootTest(properties = "tasktrack.users.batch-loader.window=0")
+@Testcontainers(disabledWithoutDocker = true)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class UserServiceQueryCountTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:16-alpine");
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private SignupReportService signupReportService;
+
+    private int userCount;
+
+    @BeforeAll
+    void warmUp() {
+        // Gets the first insert and the stats counter load out of the way,
+        // so one-off startup work is not counted in any test
+        newUser();
+        userService.getUserStats();
+    }
+
+    // ========== CREATE ==========
+
+    @Test
+    @DisplayName("createUser should run one INSERT")
+    void createUser() {
+        RequestSqlStats stats = measure(this::newUser);
+
+        assertQueries(1, 1, stats);
+    }
+
+    @Test
+    @DisplayName("createUsers should run one clash check and one batched INSERT per chunk")
+    void createUsers() {
+        RequestSqlStats stats = measure(() -> userService.createUsers(List.of(
+                user(nextName()), user(nextName()), user(nextName()))));
+
+        assertQueries(2, 2, stats);
+    }
+
+    // ========== READ ==========
+
+    @Test
+    @DisplayName("getUserById should run one SELECT on a miss and none on a hit")
+    void getUserById() {
+        User user = newUser();
+
+        assertQueries(1, 1, measure(() -> userService.getUserById(user.getId())));
+        assertQueries(0, 0, measure(() -> userService.getUserById(user.getId())));
+    }
+
+    @Test
+    @DisplayName("getUsersByIds should load all misses with one SELECT")
+    void getUsersByIds() {
+        User first = newUser();
+        User second = newUser();
+
+        RequestSqlStats stats = measure(() -> userService.getUsersByIds(List.of(first.getId(), second.getId())));
+
+        assertQueries(1, 1, stats);
+    }
+
+    @Test
+    @DisplayName("getUserByUsername and getUserByEmail should run one SELECT each")
+    void getUserByUsernameAndEmail() {
+        User first = newUser();
+        User second = newUser();
+
+        assertQueries(1, 1, measure(() -> userService.getUserByUsername(first.getUserName())));
+        assertQueries(1, 1, measure(() -> userService.getUserByEmail(second.getEmail())));
+    }
+
+    @Test
+    @DisplayName("getUserVersion should run one SELECT for an uncached user")
+    void getUserVersion() {
+        User user = newUser();
+
+        assertQueries(1, 1, measure(() -> userService.getUserVersion(user.getId())));
+    }
+
+    @Test
+    @DisplayName("Page and page-version methods should run one SELECT each")
+    void pages() {
+        assertQueries(1, 1, measure(() -> userService.getAllUsers(null, 10)));
+        assertQueries(1, 1, measure(() -> userService.getAllActiveUsers(null, 10)));
+        assertQueries(1, 1, measure(() -> userService.getUsersByRole(Role.DEVELOPER, null, 10)));
+        assertQueries(1, 1, measure(() -> userService.getAllUsersPageVersion(null, 10)));
+        assertQueries(1, 1, measure(() -> userService.getActiveUsersPageVersion(null, 10)));
+        assertQueries(1, 1, measure(() -> userService.getUsersByRolePageVersion(Role.DEVELOPER, null, 10)));
+    }
+
+    @Test
+    @DisplayName("searchUsers should run one SELECT; suggestUsers none")
+    void searchAndSuggest() {
+        assertQueries(1, 1, measure(() -> userService.searchUsers("Query Count", 10)));
+        assertQueries(0, 0, measure(() -> userService.suggestUsers("qc", 10)));
+    }
+
+    @Test
+    @DisplayName("Availability checks should need at most one SELECT for any number of values")
+    void availability() {
+        User user = newUser();
+
+        RequestSqlStats stats = measure(() -> userService.checkUsernamesAvailability(
+                List.of(user.getUserName(), "free-1", "free-2", "free-3")));
+
+        assertQueries(1, 1, stats);
+    }
+
+    @Test
+    @DisplayName("Counts should run one SELECT; stats none once loaded")
+    void countsAndStats() {
+        assertQueries(1, 1, measure(() -> userService.countUsersByRole(Role.DEVELOPER)));
+        assertQueries(1, 1, measure(() -> userService.countActiveUsers()));
+        assertQueries(0, 0, measure(() -> userService.getUserStats()));
+    }
+
+    @Test
+    @DisplayName("Signup report over closed buckets should run one SELECT, then none")
+    void signupReport() {
+        LocalDateTime from = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+        assertQueries(1, 1, measure(() -> signupReportService.getSignupReport(
+                SignupReportService.Granularity.DAY, from, from.plusDays(7), true)));
+        assertQueries(0, 0, measure(() -> signupReportService.getSignupReport(
+                SignupReportService.Granularity.DAY, from, from.plusDays(7), true)));
+    }
+
+    // ========== WRITE ==========
+
+    @Test
+    @DisplayName("updateUser should run one SELECT and one UPDATE")
+    void updateUser() {
+        User user = newUser();
+        User changes = user(user.getUserName());
+        changes.setEmail(user.getEmail());
+        changes.setFullName("Renamed");
+
+        assertQueries(2, 2, measure(() -> userService.updateUser(user.getId(), changes, null)));
+    }
+
+    @Test
+    @DisplayName("patchUser should run one SELECT and one UPDATE")
+    void patchUser() {
+        User user = newUser();
+        PatchUserRequest patch = PatchUserRequest.builder().fullName("Patched").build();
+
+        assertQueries(2, 2, measure(() -> userService.patchUser(user.getId(), patch, user.getVersion())));
+    }
+
+    @Test
+    @DisplayName("deleteUser and reactivateUser should run one UPDATE ... RETURNING each")
+    void deleteAndReactivate() {
+        User user = newUser();
+
+        assertQueries(1, 1, measure(() -> userService.deleteUser(user.getId(), null)));
+        // Already inactive: the UPDATE matches nothing, then the current row is read
+        assertQueries(2, 2, measure(() -> userService.deleteUser(user.getId(), null)));
+        assertQueries(1, 1, measure(() -> userService.reactivateUser(user.getId())));
+    }
+
+    @Test
+    @DisplayName("hardDeleteUser should run one SELECT and one DELETE")
+    void hardDeleteUser() {
+        User user = newUser();
+
+        assertQueries(2, 2, measure(() -> userService.hardDeleteUser(user.getId())));
+    }
+
+    // ========== HELPERS ==========
+
+    private RequestSqlStats measure(Runnable action) {
+        RequestSqlStats stats = RequestSqlStats.begin();
+        try {
+            action.run();
+        } finally {
+            RequestSqlStats.end();
+        }
+        return stats;
+    }
+
+    // Compares everything except users_seq calls (one statement and round trip each)
+    private static void assertQueries(int statements, int roundTrips, RequestSqlStats stats) {
+        String shapes = "\n" + String.join("\n", stats.getShapes().keySet());
+        int sequenceCalls = stats.getShapes().entrySet().stream()
+                .filter(shape -> shape.getKey().contains("nextval"))
+                .mapToInt(Map.Entry::getValue)
+                .sum();
+        assertEquals(statements, stats.getStatements() - sequenceCalls, "statements:" + shapes);
+        assertEquals(roundTrips, stats.getRoundTrips() - sequenceCalls, "round trips:" + shapes);
+    }
+
+    private User newUser() {
+        return userService.createUser(user(nextName()));
+    }
+
+    private String nextName() {
+        return "qc" + (++userCount);
+    }
+
+    private static User user(String name) {
+        User user = new User();
+        user.setUserName(name);
+        user.setEmail(name + "@example.com");
+        user.setFullName("Query Count " + name);
+        user.setRole(Role.DEVELOPER);
+        user.setActive(true);
+        return user;
+    }
+}
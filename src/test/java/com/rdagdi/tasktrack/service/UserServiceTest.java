@@ -2,12 +2,20 @@ package com.rdagdi.tasktrack.service;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -16,12 +24,28 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.rdagdi.tasktrack.dto.CursorPage;
+import com.rdagdi.tasktrack.dto.PageVersion;
+import com.rdagdi.tasktrack.dto.PatchUserRequest;
+import com.rdagdi.tasktrack.dto.UserStats;
+import com.rdagdi.tasktrack.dto.UserSuggestion;
+import com.rdagdi.tasktrack.dto.UserView;
 import com.rdagdi.tasktrack.entity.User;
 import com.rdagdi.tasktrack.entity.User.Role;
 import com.rdagdi.tasktrack.exception.DuplicateUserException;
+import com.rdagdi.tasktrack.exception.PreconditionFailedException;
 import com.rdagdi.tasktrack.exception.UserNotFoundException;
+import com.rdagdi.tasktrack.repository.PageVersionRow;
 import com.rdagdi.tasktrack.repository.UserRepository;
+import com.rdagdi.tasktrack.repository.UserSearchHit;
+import com.rdagdi.tasktrack.repository.UserVersion;
+
+import jakarta.persistence.EntityManager;
 
 /**
  * Unit tests for UserService.
@@ -33,11 +57,37 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private UserCache userCache;
+
+    @Mock
+    private UserAvailabilityFilter availabilityFilter;
+
+    @Mock
+    private UserBatchLoader userBatchLoader;
+
+    @Mock
+    private UserSuggestionIndex suggestionIndex;
+
+    @Mock
+    private UserStatsCounter statsCounter;
+
+    @Mock
+    private SignupReportService signupReportService;
+
     @InjectMocks
     private UserService userService;
 
     private User testUser;
 
+    private static DataIntegrityViolationException uniqueViolation(String constraintName) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("duplicate key", new SQLException("duplicate key"), constraintName));
+    }
+
     @BeforeEach
     void setUp() {
         testUser = new User();
@@ -58,12 +108,10 @@ class UserServiceTest {
     class CreateUserTests {
 
         @Test
-        @DisplayName("Should create user successfully when username and email are unique")
+        @DisplayName("Should create user with a single insert and no exists checks")
         void createUser_Success() {
             // Arrange
-            when(userRepository.existsByUserName(testUser.getUserName())).thenReturn(false);
-            when(userRepository.existsByEmail(testUser.getEmail())).thenReturn(false);
-            when(userRepository.save(any(User.class))).thenReturn(testUser);
+            when(userRepository.saveAndFlush(any(User.class))).thenReturn(testUser);
 
             // Act
             User result = userService.createUser(testUser);
@@ -72,14 +120,17 @@ class UserServiceTest {
             assertNotNull(result);
             assertEquals(testUser.getUserName(), result.getUserName());
             assertEquals(testUser.getEmail(), result.getEmail());
-            verify(userRepository).save(testUser);
+            verify(userRepository).saveAndFlush(testUser);
+            verify(userRepository, never()).existsByUserName(any());
+            verify(userRepository, never()).existsByEmail(any());
         }
 
         @Test
-        @DisplayName("Should throw DuplicateUserException when username already exists")
+        @DisplayName("Should throw DuplicateUserException when username constraint is violated")
         void createUser_DuplicateUsername() {
             // Arrange
-            when(userRepository.existsByUserName(testUser.getUserName())).thenReturn(true);
+            when(userRepository.saveAndFlush(any(User.class)))
+                    .thenThrow(uniqueViolation(User.UNIQUE_USER_NAME));
 
             // Act & Assert
             DuplicateUserException exception = assertThrows(
@@ -87,15 +138,14 @@ class UserServiceTest {
                     () -> userService.createUser(testUser));
 
             assertTrue(exception.getMessage().contains("Username already exists"));
-            verify(userRepository, never()).save(any(User.class));
         }
 
         @Test
-        @DisplayName("Should throw DuplicateUserException when email already exists")
+        @DisplayName("Should throw DuplicateUserException when email constraint is violated")
         void createUser_DuplicateEmail() {
             // Arrange
-            when(userRepository.existsByUserName(testUser.getUserName())).thenReturn(false);
-            when(userRepository.existsByEmail(testUser.getEmail())).thenReturn(true);
+            when(userRepository.saveAndFlush(any(User.class)))
+                    .thenThrow(uniqueViolation(User.UNIQUE_EMAIL));
 
             // Act & Assert
             DuplicateUserException exception = assertThrows(
@@ -103,7 +153,112 @@ class UserServiceTest {
                     () -> userService.createUser(testUser));
 
             assertTrue(exception.getMessage().contains("Email already exists"));
-            verify(userRepository, never()).save(any(User.class));
+        }
+
+        @Test
+        @DisplayName("Should rethrow integrity violations that are not duplicates")
+        void createUser_OtherConstraintViolation() {
+            // Arrange
+            DataIntegrityViolationException violation = uniqueViolation("users_full_name_not_null");
+            when(userRepository.saveAndFlush(any(User.class))).thenThrow(violation);
+
+            // Act & Assert
+            assertSame(violation, assertThrows(
+                    DataIntegrityViolationException.class,
+                    () -> userService.createUser(testUser)));
+        }
+    }
+
+    // ========== BULK CREATE TESTS ==========
+
+    @Nested
+    @DisplayName("createUsers Tests")
+    class CreateUsersTests {
+
+        private User newUser(String userName, String email) {
+            User user = new User();
+            user.setUserName(userName);
+            user.setEmail(email);
+            user.setFullName(userName);
+            user.setRole(Role.DEVELOPER);
+            return user;
+        }
+
+        @Test
+        @DisplayName("Should insert unique users and report duplicates per item")
+        void createUsers_MixedResults() {
+            // Arrange
+            ReflectionTestUtils.setField(userService, "batchSize", 2);
+            User fresh = newUser("fresh", "fresh@example.com");
+            User takenName = newUser(testUser.getUserName(), "other@example.com");
+            User second = newUser("second", "second@example.com");
+            User repeatedEmail = newUser("third", "second@example.com");
+
+            when(userRepository.findByUserNameInOrEmailIn(any(), any()))
+                    .thenReturn(List.of(testUser))
+                    .thenReturn(List.of());
+
+            // Act
+            List<BatchCreateResult> results = userService.createUsers(
+                    List.of(fresh, takenName, second, repeatedEmail));
+
+            // Assert
+            assertEquals(4, results.size());
+            assertTrue(results.get(0).isCreated());
+            assertTrue(results.get(1).error().contains("Username already exists"));
+            assertTrue(results.get(2).isCreated());
+            assertTrue(results.get(3).error().contains("Email already exists"));
+            verify(userRepository, times(2)).findByUserNameInOrEmailIn(any(), any());
+            verify(userRepository).saveAll(List.of(fresh));
+            verify(userRepository).saveAll(List.of(second));
+            verify(userRepository, never()).existsByUserName(any());
+        }
+
+        @Test
+        @DisplayName("Should treat usernames and emails differing only by case as duplicates")
+        void createUsers_CaseInsensitiveDuplicates() {
+            // Arrange
+            ReflectionTestUtils.setField(userService, "batchSize", 10);
+            User takenName = newUser("TestUser", "other@example.com");
+            User fresh = newUser("fresh", "Fresh@Example.com");
+            User repeatedEmail = newUser("third", "fresh@example.com");
+
+            when(userRepository.findByUserNameInOrEmailIn(any(), any())).thenReturn(List.of(testUser));
+
+            // Act
+            List<BatchCreateResult> results = userService.createUsers(
+                    List.of(takenName, fresh, repeatedEmail));
+
+            // Assert
+            assertTrue(results.get(0).error().contains("Username already exists"));
+            assertTrue(results.get(1).isCreated());
+            assertTrue(results.get(2).error().contains("Email already exists"));
+            verify(userRepository).findByUserNameInOrEmailIn(
+                    List.of("testuser", "fresh", "third"),
+                    List.of("other@example.com", "fresh@example.com", "fresh@example.com"));
+        }
+
+        @Test
+        @DisplayName("Should throw DuplicateUserException when a concurrent insert wins the race")
+        void createUsers_ConcurrentDuplicate() {
+            // Arrange
+            ReflectionTestUtils.setField(userService, "batchSize", 10);
+            User first = newUser("first", "first@example.com");
+            User racing = newUser("racing", "racing@example.com");
+            DataIntegrityViolationException violation = new DataIntegrityViolationException("could not execute batch",
+                    new ConstraintViolationException("duplicate key", new SQLException(
+                            "Key (lower(email::text))=(racing@example.com) already exists."), User.UNIQUE_EMAIL));
+
+            when(userRepository.findByUserNameInOrEmailIn(any(), any())).thenReturn(List.of());
+            doThrow(violation).when(userRepository).flush();
+
+            // Act & Assert
+            DuplicateUserException exception = assertThrows(DuplicateUserException.class,
+                    () -> userService.createUsers(List.of(first, racing)));
+            assertEquals("Email already exists: racing@example.com", exception.getMessage());
+            verify(availabilityFilter, never()).add(any());
+            verify(suggestionIndex, never()).index(any());
+            verify(statsCounter, never()).created(any(), any());
         }
     }
 
@@ -117,7 +272,7 @@ class UserServiceTest {
         @DisplayName("Should return user when found")
         void getUserById_Success() {
             // Arrange
-            when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+            when(userBatchLoader.load(1L)).thenReturn(Optional.of(testUser));
 
             // Act
             User result = userService.getUserById(1L);
@@ -128,11 +283,38 @@ class UserServiceTest {
             assertEquals(testUser.getUserName(), result.getUserName());
         }
 
+        @Test
+        @DisplayName("Should serve cached user without querying the database")
+        void getUserById_CacheHit() {
+            // Arrange
+            when(userCache.getById(1L)).thenReturn(Optional.of(testUser));
+
+            // Act
+            User result = userService.getUserById(1L);
+
+            // Assert
+            assertEquals(testUser.getId(), result.getId());
+            verify(userBatchLoader, never()).load(any());
+        }
+
+        @Test
+        @DisplayName("Should cache user loaded on a miss")
+        void getUserById_CacheMiss() {
+            // Arrange
+            when(userBatchLoader.load(1L)).thenReturn(Optional.of(testUser));
+
+            // Act
+            userService.getUserById(1L);
+
+            // Assert
+            verify(userCache).put(testUser);
+        }
+
         @Test
         @DisplayName("Should throw UserNotFoundException when user not found")
         void getUserById_NotFound() {
             // Arrange
-            when(userRepository.findById(999L)).thenReturn(Optional.empty());
+            when(userBatchLoader.load(999L)).thenReturn(Optional.empty());
 
             // Act & Assert
             UserNotFoundException exception = assertThrows(
@@ -141,6 +323,53 @@ class UserServiceTest {
 
             assertTrue(exception.getMessage().contains("999"));
         }
+
+        @Test
+        @DisplayName("getUserVersion should answer from the cache without querying the database")
+        void getUserVersion_CacheHit() {
+            // Arrange
+            testUser.setVersion(3L);
+            when(userCache.getById(1L)).thenReturn(Optional.of(testUser));
+
+            // Act
+            UserVersion result = userService.getUserVersion(1L);
+
+            // Assert
+            assertEquals(3L, result.version());
+            assertEquals(testUser.getUpdatedAt(), result.updatedAt());
+            verify(userRepository, never()).findVersionById(anyLong());
+        }
+
+        @Test
+        @DisplayName("getUserVersion should throw UserNotFoundException when user not found")
+        void getUserVersion_NotFound() {
+            // Arrange
+            when(userRepository.findVersionById(999L)).thenReturn(Optional.empty());
+
+            // Act & Assert
+            assertThrows(UserNotFoundException.class, () -> userService.getUserVersion(999L));
+        }
+
+        @Test
+        @DisplayName("getUsersByIds should load only cache misses, in one query, in request order")
+        void getUsersByIds_OneQueryForMisses() {
+            // Arrange
+            User user2 = new User();
+            user2.setId(2L);
+            user2.setUserName("user2");
+
+            when(userCache.getById(anyLong())).thenReturn(Optional.empty());
+            when(userCache.getById(1L)).thenReturn(Optional.of(testUser));
+            when(userRepository.findAllById(Set.of(2L, 3L))).thenReturn(List.of(user2));
+
+            // Act
+            List<User> result = userService.getUsersByIds(List.of(2L, 1L, 3L));
+
+            // Assert
+            assertEquals(List.of(2L, 1L), result.stream().map(User::getId).toList());
+            verify(userRepository, times(1)).findAllById(any());
+            verify(userCache).put(user2);
+        }
     }
 
     // ========== GET ALL USERS TESTS ==========
@@ -149,34 +378,95 @@ class UserServiceTest {
     @DisplayName("getAllUsers Tests")
     class GetAllUsersTests {
 
+        private UserView view(long id) {
+            return new UserView(id, "user" + id, "user" + id + "@example.com", "User " + id,
+                    Role.DEVELOPER, true, LocalDateTime.now(), LocalDateTime.now(), 0L);
+        }
+
         @Test
-        @DisplayName("Should return list of all users")
-        void getAllUsers_Success() {
+        @DisplayName("Should return a page of users with a cursor when more rows exist")
+        void getAllUsers_HasNextPage() {
             // Arrange
-            User user2 = new User();
-            user2.setId(2L);
-            user2.setUserName("user2");
+            when(userRepository.findViewsAfter(eq(0L), any(Limit.class)))
+                    .thenReturn(List.of(view(1L), view(2L)));
+
+            // Act
+            CursorPage<UserView> result = userService.getAllUsers(null, 1);
+
+            // Assert
+            assertEquals(1, result.getSize());
+            assertEquals(1L, result.getItems().get(0).id());
+            assertNotNull(result.getNext());
+            verify(userRepository).findViewsAfter(eq(0L), argThat(limit -> limit.max() == 2));
+        }
+
+        @Test
+        @DisplayName("Should continue after the id encoded in the cursor")
+        void getAllUsers_FollowsCursor() {
+            // Arrange
+            when(userRepository.findViewsAfter(eq(0L), any(Limit.class)))
+                    .thenReturn(List.of(view(1L), view(2L)));
+            String next = userService.getAllUsers(null, 1).getNext();
 
-            when(userRepository.findAll()).thenReturn(List.of(testUser, user2));
+            when(userRepository.findViewsAfter(eq(1L), any(Limit.class)))
+                    .thenReturn(List.of());
 
             // Act
-            List<User> result = userService.getAllUsers();
+            CursorPage<UserView> result = userService.getAllUsers(next, 1);
 
             // Assert
-            assertEquals(2, result.size());
+            assertTrue(result.getItems().isEmpty());
+            assertNull(result.getNext());
         }
 
         @Test
-        @DisplayName("Should return empty list when no users exist")
+        @DisplayName("Should return empty page without cursor when no users exist")
         void getAllUsers_Empty() {
             // Arrange
-            when(userRepository.findAll()).thenReturn(List.of());
+            when(userRepository.findViewsAfter(eq(0L), any(Limit.class)))
+                    .thenReturn(List.of());
+
+            // Act
+            CursorPage<UserView> result = userService.getAllUsers(null, 50);
+
+            // Assert
+            assertTrue(result.getItems().isEmpty());
+            assertNull(result.getNext());
+        }
+
+        @Test
+        @DisplayName("Page version from the summary query should equal the one of the loaded page")
+        void getAllUsersPageVersion_MatchesLoadedPage() {
+            // Arrange
+            UserView first = view(1L);
+            UserView second = view(2L);
+            when(userRepository.findViewsAfter(eq(0L), any(Limit.class)))
+                    .thenReturn(List.of(first, second, view(3L)));
+
+            PageVersionRow row = mock(PageVersionRow.class);
+            when(row.getLastModified()).thenReturn(second.updatedAt());
+            when(row.getRows()).thenReturn(2L);
+            when(row.getLastId()).thenReturn(2L);
+            when(row.getHasNext()).thenReturn(true);
+            when(userRepository.findPageVersionAfter(0L, 2)).thenReturn(row);
 
             // Act
-            List<User> result = userService.getAllUsers();
+            PageVersion loaded = PageVersion.of(userService.getAllUsers(null, 2));
+            PageVersion summary = userService.getAllUsersPageVersion(null, 2);
 
             // Assert
-            assertTrue(result.isEmpty());
+            assertEquals(loaded, summary);
+            assertEquals(new PageVersion(null, 0, null, false), PageVersion.of(
+                    CursorPage.<UserView>builder().items(List.of()).size(0).build()));
+        }
+
+        @Test
+        @DisplayName("Should reject malformed cursors and out-of-range page sizes")
+        void getAllUsers_InvalidArguments() {
+            assertThrows(IllegalArgumentException.class, () -> userService.getAllUsers("not-a-cursor", 10));
+            assertThrows(IllegalArgumentException.class, () -> userService.getAllUsers(null, 0));
+            assertThrows(IllegalArgumentException.class,
+                    () -> userService.getAllUsers(null, UserService.MAX_PAGE_SIZE + 1));
         }
     }
 
@@ -198,12 +488,10 @@ class UserServiceTest {
             updatedData.setActive(true);
 
             when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-            when(userRepository.existsByUserName("updateduser")).thenReturn(false);
-            when(userRepository.existsByEmail("updated@example.com")).thenReturn(false);
-            when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+            when(userRepository.saveAndFlush(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
             // Act
-            User result = userService.updateUser(1L, updatedData);
+            User result = userService.updateUser(1L, updatedData, null);
 
             // Assert
             assertEquals("updateduser", result.getUserName());
@@ -221,7 +509,7 @@ class UserServiceTest {
             // Act & Assert
             assertThrows(
                     UserNotFoundException.class,
-                    () -> userService.updateUser(999L, testUser));
+                    () -> userService.updateUser(999L, testUser, null));
         }
 
         @Test
@@ -233,12 +521,13 @@ class UserServiceTest {
             updatedData.setEmail(testUser.getEmail());
 
             when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-            when(userRepository.existsByUserName("existinguser")).thenReturn(true);
+            when(userRepository.saveAndFlush(any(User.class)))
+                    .thenThrow(uniqueViolation(User.UNIQUE_USER_NAME));
 
             // Act & Assert
             assertThrows(
                     DuplicateUserException.class,
-                    () -> userService.updateUser(1L, updatedData));
+                    () -> userService.updateUser(1L, updatedData, null));
         }
 
         @Test
@@ -253,16 +542,135 @@ class UserServiceTest {
             updatedData.setActive(true);
 
             when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-            when(userRepository.existsByEmail("newemail@example.com")).thenReturn(false);
-            when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+            when(userRepository.saveAndFlush(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
             // Act
-            User result = userService.updateUser(1L, updatedData);
+            User result = userService.updateUser(1L, updatedData, null);
 
             // Assert
             assertEquals(testUser.getUserName(), result.getUserName());
             verify(userRepository, never()).existsByUserName(any());
         }
+
+        @Test
+        @DisplayName("Should reject an If-Match version that is no longer current")
+        void updateUser_StaleVersion() {
+            // Arrange
+            testUser.setVersion(3);
+            when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+
+            // Act & Assert
+            assertThrows(
+                    PreconditionFailedException.class,
+                    () -> userService.updateUser(1L, new User(), 2L));
+            verify(userRepository, never()).saveAndFlush(any(User.class));
+        }
+
+        @Test
+        @DisplayName("Should report a concurrent update during flush as a failed precondition")
+        void updateUser_ConcurrentUpdate() {
+            // Arrange
+            testUser.setVersion(3);
+            User updatedData = new User();
+            updatedData.setUserName(testUser.getUserName());
+            updatedData.setEmail(testUser.getEmail());
+
+            when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+            when(userRepository.saveAndFlush(any(User.class)))
+                    .thenThrow(new ObjectOptimisticLockingFailureException(User.class, 1L));
+
+            // Act & Assert
+            assertThrows(
+                    PreconditionFailedException.class,
+                    () -> userService.updateUser(1L, updatedData, 3L));
+        }
+
+        @Test
+        @DisplayName("Should surface a concurrent update without If-Match as a locking failure")
+        void updateUser_ConcurrentUpdateWithoutIfMatch() {
+            // Arrange
+            User updatedData = new User();
+            updatedData.setUserName(testUser.getUserName());
+            updatedData.setEmail(testUser.getEmail());
+
+            when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+            when(userRepository.saveAndFlush(any(User.class)))
+                    .thenThrow(new ObjectOptimisticLockingFailureException(User.class, 1L));
+
+            // Act & Assert
+            assertThrows(
+                    ObjectOptimisticLockingFailureException.class,
+                    () -> userService.updateUser(1L, updatedData, null));
+        }
+    }
+
+    // ========== PATCH USER TESTS ==========
+
+    @Nested
+    @DisplayName("patchUser Tests")
+    class PatchUserTests {
+
+        @Test
+        @DisplayName("Should apply only the provided fields")
+        void patchUser_OnlyProvidedFields() {
+            // Arrange
+            when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+            PatchUserRequest patch = PatchUserRequest.builder().fullName("Renamed User").build();
+
+            // Act
+            User result = userService.patchUser(1L, patch, null);
+
+            // Assert
+            assertEquals("Renamed User", result.getFullName());
+            assertEquals("testuser", result.getUserName());
+            assertEquals(Role.DEVELOPER, result.getRole());
+            assertTrue(result.getActive());
+            verify(userRepository).flush();
+            verify(userRepository, never()).save(any(User.class));
+            verify(userCache).evict(1L, result.getVersion());
+        }
+
+        @Test
+        @DisplayName("Should throw DuplicateUserException when patched email is taken")
+        void patchUser_DuplicateEmail() {
+            // Arrange
+            when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+            doThrow(uniqueViolation(User.UNIQUE_EMAIL)).when(userRepository).flush();
+            PatchUserRequest patch = PatchUserRequest.builder().email("taken@example.com").build();
+
+            // Act & Assert
+            DuplicateUserException exception = assertThrows(
+                    DuplicateUserException.class,
+                    () -> userService.patchUser(1L, patch, null));
+
+            assertTrue(exception.getMessage().contains("taken@example.com"));
+        }
+
+        @Test
+        @DisplayName("Should reject a patch with a stale If-Match version")
+        void patchUser_StaleVersion() {
+            // Arrange
+            testUser.setVersion(5);
+            when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+            PatchUserRequest patch = PatchUserRequest.builder().fullName("Renamed User").build();
+
+            // Act & Assert
+            assertThrows(
+                    PreconditionFailedException.class,
+                    () -> userService.patchUser(1L, patch, 4L));
+            assertEquals("Test User", testUser.getFullName());
+            verify(userRepository, never()).flush();
+        }
+
+        @Test
+        @DisplayName("Should throw UserNotFoundException when user to patch doesn't exist")
+        void patchUser_NotFound() {
+            when(userRepository.findById(999L)).thenReturn(Optional.empty());
+
+            assertThrows(
+                    UserNotFoundException.class,
+                    () -> userService.patchUser(999L, new PatchUserRequest(), null));
+        }
     }
 
     // ========== DELETE USER TESTS ==========
@@ -275,27 +683,119 @@ class UserServiceTest {
         @DisplayName("Should soft delete (deactivate) user successfully")
         void deleteUser_Success() {
             // Arrange
+            testUser.setActive(false); // Row as returned by UPDATE ... RETURNING
+            when(userRepository.updateActive(eq(1L), eq(false), any(LocalDateTime.class)))
+                    .thenReturn(Optional.of(testUser));
+
+            // Act
+            User result = userService.deleteUser(1L, null);
+
+            // Assert
+            assertFalse(result.getActive());
+            verify(suggestionIndex).remove(1L);
+            verify(statsCounter).changed(Role.DEVELOPER, true, Role.DEVELOPER, false);
+            verify(userRepository, never()).findById(any());
+            verify(userRepository, never()).save(any(User.class));
+        }
+
+        @Test
+        @DisplayName("Should leave an already inactive user unchanged")
+        void deleteUser_AlreadyInactive() {
+            // Arrange
+            testUser.setActive(false);
+            when(userRepository.updateActive(eq(1L), eq(false), any(LocalDateTime.class)))
+                    .thenReturn(Optional.empty());
             when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-            when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
             // Act
-            User result = userService.deleteUser(1L);
+            User result = userService.deleteUser(1L, null);
+
+            // Assert
+            assertFalse(result.getActive());
+            verify(statsCounter, never()).changed(any(), any(), any(), any());
+            verify(userCache, never()).evict(any(), anyLong());
+        }
+
+        @Test
+        @DisplayName("Should deactivate only at the If-Match version")
+        void deleteUser_MatchingVersion() {
+            // Arrange
+            testUser.setActive(false);
+            testUser.setVersion(4);
+            when(userRepository.updateActiveAtVersion(eq(1L), eq(false), eq(3L), any(LocalDateTime.class)))
+                    .thenReturn(Optional.of(testUser));
+
+            // Act
+            User result = userService.deleteUser(1L, 3L);
 
             // Assert
             assertFalse(result.getActive());
-            verify(userRepository).save(testUser);
+            verify(userRepository, never()).updateActive(anyLong(), anyBoolean(), any());
+        }
+
+        @Test
+        @DisplayName("Should reject a delete with a stale If-Match version")
+        void deleteUser_StaleVersion() {
+            // Arrange
+            testUser.setVersion(4);
+            when(userRepository.updateActiveAtVersion(eq(1L), eq(false), eq(3L), any(LocalDateTime.class)))
+                    .thenReturn(Optional.empty());
+            when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+
+            // Act & Assert
+            assertThrows(
+                    PreconditionFailedException.class,
+                    () -> userService.deleteUser(1L, 3L));
+            verify(statsCounter, never()).changed(any(), any(), any(), any());
         }
 
         @Test
         @DisplayName("Should throw UserNotFoundException when user to delete doesn't exist")
         void deleteUser_NotFound() {
+            // Arrange
+            when(userRepository.updateActive(eq(999L), eq(false), any(LocalDateTime.class)))
+                    .thenReturn(Optional.empty());
+            when(userRepository.findById(999L)).thenReturn(Optional.empty());
+
+            // Act & Assert
+            assertThrows(
+                    UserNotFoundException.class,
+                    () -> userService.deleteUser(999L, null));
+        }
+    }
+
+    // ========== HARD DELETE USER TESTS ==========
+
+    @Nested
+    @DisplayName("hardDeleteUser Tests")
+    class HardDeleteUserTests {
+
+        @Test
+        @DisplayName("Should delete user and update stats and reports")
+        void hardDeleteUser_Success() {
+            // Arrange
+            when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+
+            // Act
+            userService.hardDeleteUser(1L);
+
+            // Assert
+            verify(userRepository).delete(testUser);
+            verify(statsCounter).removed(Role.DEVELOPER, true);
+            verify(signupReportService).invalidate();
+        }
+
+        @Test
+        @DisplayName("Should throw UserNotFoundException when user to hard delete doesn't exist")
+        void hardDeleteUser_NotFound() {
             // Arrange
             when(userRepository.findById(999L)).thenReturn(Optional.empty());
 
             // Act & Assert
             assertThrows(
                     UserNotFoundException.class,
-                    () -> userService.deleteUser(999L));
+                    () -> userService.hardDeleteUser(999L));
+            verify(userRepository, never()).delete(any(User.class));
         }
     }
 
@@ -309,22 +809,24 @@ class UserServiceTest {
         @DisplayName("Should reactivate user successfully")
         void reactivateUser_Success() {
             // Arrange
-            testUser.setActive(false); // User is currently inactive
-            when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-            when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+            when(userRepository.updateActive(eq(1L), eq(true), any(LocalDateTime.class)))
+                    .thenReturn(Optional.of(testUser));
 
             // Act
             User result = userService.reactivateUser(1L);
 
             // Assert
             assertTrue(result.getActive());
-            verify(userRepository).save(testUser);
+            verify(statsCounter).changed(Role.DEVELOPER, false, Role.DEVELOPER, true);
+            verify(userRepository, never()).save(any(User.class));
         }
 
         @Test
         @DisplayName("Should throw UserNotFoundException when user to reactivate doesn't exist")
         void reactivateUser_NotFound() {
             // Arrange
+            when(userRepository.updateActive(eq(999L), eq(true), any(LocalDateTime.class)))
+                    .thenReturn(Optional.empty());
             when(userRepository.findById(999L)).thenReturn(Optional.empty());
 
             // Act & Assert
@@ -341,8 +843,17 @@ class UserServiceTest {
     class UtilityMethodsTests {
 
         @Test
-        @DisplayName("isUsernameAvailable should return true when username not taken")
+        @DisplayName("isUsernameAvailable should skip the database on a Bloom filter miss")
+        void isUsernameAvailable_FilterMiss() {
+            when(availabilityFilter.mightContainUserName("newuser")).thenReturn(false);
+            assertTrue(userService.isUsernameAvailable("newuser"));
+            verify(userRepository, never()).existsByUserName(any());
+        }
+
+        @Test
+        @DisplayName("isUsernameAvailable should return true when a possible hit is not in the database")
         void isUsernameAvailable_True() {
+            when(availabilityFilter.mightContainUserName("newuser")).thenReturn(true);
             when(userRepository.existsByUserName("newuser")).thenReturn(false);
             assertTrue(userService.isUsernameAvailable("newuser"));
         }
@@ -350,6 +861,7 @@ class UserServiceTest {
         @Test
         @DisplayName("isUsernameAvailable should return false when username taken")
         void isUsernameAvailable_False() {
+            when(availabilityFilter.mightContainUserName("existinguser")).thenReturn(true);
             when(userRepository.existsByUserName("existinguser")).thenReturn(true);
             assertFalse(userService.isUsernameAvailable("existinguser"));
         }
@@ -357,10 +869,79 @@ class UserServiceTest {
         @Test
         @DisplayName("isEmailAvailable should return true when email not taken")
         void isEmailAvailable_True() {
+            when(availabilityFilter.mightContainEmail("new@example.com")).thenReturn(true);
             when(userRepository.existsByEmail("new@example.com")).thenReturn(false);
             assertTrue(userService.isEmailAvailable("new@example.com"));
         }
 
+        @Test
+        @DisplayName("checkUsernamesAvailability should resolve possible hits with one query")
+        void checkUsernamesAvailability_SingleQuery() {
+            when(availabilityFilter.mightContainUserName("free")).thenReturn(false);
+            when(availabilityFilter.mightContainUserName("maybe")).thenReturn(true);
+            when(availabilityFilter.mightContainUserName("taken")).thenReturn(true);
+            when(userRepository.findExistingUserNames(Set.of("maybe", "taken"))).thenReturn(List.of("taken"));
+
+            Map<String, Boolean> result = userService.checkUsernamesAvailability(List.of("free", "maybe", "taken"));
+
+            assertEquals(List.of("free", "maybe", "taken"), List.copyOf(result.keySet()));
+            assertTrue(result.get("free"));
+            assertTrue(result.get("maybe"));
+            assertFalse(result.get("taken"));
+            verify(userRepository, times(1)).findExistingUserNames(any());
+            verify(userRepository, never()).existsByUserName(any());
+        }
+
+        @Test
+        @DisplayName("checkUsernamesAvailability should match taken usernames ignoring case")
+        void checkUsernamesAvailability_IgnoresCase() {
+            when(availabilityFilter.mightContainUserName("Taken")).thenReturn(true);
+            when(userRepository.findExistingUserNames(Set.of("taken"))).thenReturn(List.of("taken"));
+
+            Map<String, Boolean> result = userService.checkUsernamesAvailability(List.of("Taken"));
+
+            assertFalse(result.get("Taken"));
+        }
+
+        @Test
+        @DisplayName("checkEmailsAvailability should skip the query when every email is a filter miss")
+        void checkEmailsAvailability_NoQuery() {
+            when(availabilityFilter.mightContainEmail(any())).thenReturn(false);
+
+            Map<String, Boolean> result = userService.checkEmailsAvailability(List.of("a@example.com"));
+
+            assertTrue(result.get("a@example.com"));
+            verify(userRepository, never()).findExistingEmails(any());
+        }
+
+        @Test
+        @DisplayName("searchUsers should trim the query and pass the limit to the ranked query")
+        void searchUsers_TrimsQuery() {
+            UserSearchHit hit = mock(UserSearchHit.class);
+            when(userRepository.searchByFullName("alice", 10)).thenReturn(List.of(hit));
+
+            assertEquals(List.of(hit), userService.searchUsers("  alice ", 10));
+        }
+
+        @Test
+        @DisplayName("searchUsers should reject short queries and out-of-range limits")
+        void searchUsers_InvalidArguments() {
+            assertThrows(IllegalArgumentException.class, () -> userService.searchUsers(" a ", 10));
+            assertThrows(IllegalArgumentException.class,
+                    () -> userService.searchUsers("alice", UserService.MAX_SEARCH_RESULTS + 1));
+            verify(userRepository, never()).searchByFullName(any(), anyInt());
+        }
+
+        @Test
+        @DisplayName("suggestUsers should be served by the in-memory index")
+        void suggestUsers_FromIndex() {
+            UserSuggestion suggestion = new UserSuggestion(1L, "testuser", "test@example.com", "Test User");
+            when(suggestionIndex.suggest("tes", 5)).thenReturn(List.of(suggestion));
+
+            assertEquals(List.of(suggestion), userService.suggestUsers(" tes ", 5));
+            verifyNoInteractions(userRepository);
+        }
+
         @Test
         @DisplayName("countUsersByRole should return correct count")
         void countUsersByRole_Success() {
@@ -374,5 +955,15 @@ class UserServiceTest {
             when(userRepository.countByActive(true)).thenReturn(10L);
             assertEquals(10L, userService.countActiveUsers());
         }
+
+        @Test
+        @DisplayName("getUserStats should be served from the stats counter")
+        void getUserStats_Success() {
+            UserStats stats = UserStats.builder().total(3).active(2).inactive(1).build();
+            when(statsCounter.snapshot()).thenReturn(stats);
+
+            assertEquals(stats, userService.getUserStats());
+            verify(userRepository, never()).countGroupedByRoleAndActive();
+        }
     }
 }
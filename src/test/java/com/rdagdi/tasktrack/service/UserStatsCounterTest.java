@@ -0,0 +1,83 @@
+package com.rdagdi.tasktrack.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.rdagdi.tasktrack.dto.UserStats;
+import com.rdagdi.tasktrack.entity.User.Role;
+import com.rdagdi.tasktrack.repository.RoleActiveCount;
+import com.rdagdi.tasktrack.repository.UserRepository;
+
+/**
+ * Unit tests for UserStatsCounter.
+ */
+class UserStatsCounterTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+
+    @Test
+    @DisplayName("First snapshot should load all counts with one grouped query")
+    void snapshot_LoadsGroupedCounts() {
+        // Arrange
+        when(userRepository.countGroupedByRoleAndActive()).thenReturn(List.of(
+                new RoleActiveCount(Role.DEVELOPER, true, 5),
+                new RoleActiveCount(Role.DEVELOPER, false, 2),
+                new RoleActiveCount(Role.ADMIN, true, 1)));
+        UserStatsCounter counter = new UserStatsCounter(userRepository, Duration.ofMinutes(5));
+
+        // Act
+        UserStats stats = counter.snapshot();
+
+        // Assert
+        assertEquals(8, stats.getTotal());
+        assertEquals(6, stats.getActive());
+        assertEquals(2, stats.getInactive());
+        assertEquals(5, stats.getByRole().get(Role.DEVELOPER).getActive());
+        assertEquals(0, stats.getByRole().get(Role.TESTER).getInactive());
+        assertNotNull(stats.getRefreshedAt());
+    }
+
+    @Test
+    @DisplayName("Write deltas should update counts without another query")
+    void deltas_AppliedInMemory() {
+        // Arrange
+        when(userRepository.countGroupedByRoleAndActive()).thenReturn(List.of(
+                new RoleActiveCount(Role.DEVELOPER, true, 5)));
+        UserStatsCounter counter = new UserStatsCounter(userRepository, Duration.ofMinutes(5));
+        counter.snapshot();
+
+        // Act
+        counter.created(Role.TESTER, true);
+        counter.changed(Role.DEVELOPER, true, Role.DEVELOPER, false);
+        counter.removed(Role.TESTER, true);
+        UserStats stats = counter.snapshot();
+
+        // Assert
+        assertEquals(5, stats.getTotal());
+        assertEquals(4, stats.getByRole().get(Role.DEVELOPER).getActive());
+        assertEquals(1, stats.getByRole().get(Role.DEVELOPER).getInactive());
+        assertEquals(0, stats.getByRole().get(Role.TESTER).getActive());
+        verify(userRepository, times(1)).countGroupedByRoleAndActive();
+    }
+
+    @Test
+    @DisplayName("Counts older than the refresh interval should be reloaded")
+    void snapshot_ReloadsWhenStale() {
+        // Arrange
+        when(userRepository.countGroupedByRoleAndActive()).thenReturn(List.of());
+        UserStatsCounter counter = new UserStatsCounter(userRepository, Duration.ZERO);
+
+        // Act
+        counter.snapshot();
+        counter.snapshot();
+
+        // Assert
+        verify(userRepository, times(2)).countGroupedByRoleAndActive();
+    }
+}
@@ -0,0 +1,104 @@
+package com.rdagdi.tasktrack.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import com.rdagdi.tasktrack.dto.UserSuggestion;
+import com.rdagdi.tasktrack.dto.UserView;
+import com.rdagdi.tasktrack.entity.User;
+import com.rdagdi.tasktrack.entity.User.Role;
+import com.rdagdi.tasktrack.repository.UserRepository;
+
+/**
+ * Unit tests for UserSuggestionIndex.
+ */
+class UserSuggestionIndexTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserSuggestionIndex index = new UserSuggestionIndex(userRepository,
+            mock(PlatformTransactionManager.class));
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Writes inside a transaction should only be indexed once it commits")
+    void index_AppliedAfterCommit() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        index.index(user(1L, "alice", true));
+        List<UserSuggestion> beforeCommit = index.suggest("ali", 10);
+        TransactionSynchronizationUtils.triggerAfterCommit();
+
+        // Assert
+        assertTrue(beforeCommit.isEmpty());
+        assertEquals(1, index.suggest("ali", 10).size());
+    }
+
+    @Test
+    @DisplayName("Rolled-back writes should leave no suggestions behind")
+    void index_IgnoredOnRollback() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        index.index(user(1L, "alice", true));
+        TransactionSynchronizationUtils.invokeAfterCompletion(
+                TransactionSynchronizationManager.getSynchronizations(),
+                TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        // Assert
+        assertTrue(index.suggest("ali", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Writes committed while a rebuild reads should survive the swap")
+    void rebuild_ReplaysConcurrentWrites() {
+        // Arrange: while the rows are read, "carol" is created and "alice" deactivated
+        when(userRepository.streamActiveViews()).thenAnswer(invocation -> Stream.of(view(1L, "alice"))
+                .peek(row -> {
+                    index.index(user(3L, "carol", true));
+                    index.remove(1L);
+                }));
+
+        // Act
+        index.rebuild();
+
+        // Assert
+        assertTrue(index.suggest("alice", 10).isEmpty());
+        assertEquals(List.of(3L), index.suggest("car", 10).stream().map(UserSuggestion::id).toList());
+    }
+
+    private static User user(long id, String name, boolean active) {
+        User user = new User();
+        user.setId(id);
+        user.setUserName(name);
+        user.setEmail(name + "@example.com");
+        user.setFullName(name);
+        user.setActive(active);
+        return user;
+    }
+
+    private static UserView view(long id, String name) {
+        return new UserView(id, name, name + "@example.com", name, Role.DEVELOPER, true,
+                LocalDateTime.now(), LocalDateTime.now(), 0L);
+    }
+}